@@ -0,0 +1,136 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.CartItem;
+import com.ecommerce.backend.model.Category;
+import com.ecommerce.backend.model.Order;
+import com.ecommerce.backend.model.OrderItem;
+import com.ecommerce.backend.model.Product;
+import com.ecommerce.backend.model.ProductImage;
+import com.ecommerce.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping on the catalog, order and cart read paths. {@code items} is the number of images,
+ * order lines or cart lines respectively.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"3", "50"})
+    private int items;
+
+    private Product product;
+    private Order order;
+    private List<CartItemDTO> cartItems;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Điện thoại");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("benchmark");
+
+        product = product(category, 0);
+        List<ProductImage> images = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ProductImage image = new ProductImage();
+            image.setId(UUID.randomUUID());
+            image.setImageUrl("https://cdn.example.com/products/" + i + ".jpg");
+            // Reverse order so the DTO's sort has work to do
+            image.setDisplayOrder(items - i);
+            images.add(image);
+        }
+        product.setImages(images);
+
+        order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setUser(user);
+        order.setOrderNumber("ORD-BENCH-0001");
+        order.setShippingAddress("1 Đường Lê Lợi, Quận 1, TP.HCM");
+        order.setCreatedAt(LocalDateTime.now());
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            Product lineProduct = product(category, i);
+            OrderItem item = new OrderItem();
+            item.setId(UUID.randomUUID());
+            item.setOrder(order);
+            item.setProduct(lineProduct);
+            item.setProductName(lineProduct.getName());
+            item.setProductPrice(lineProduct.getPrice());
+            item.setQuantity(1 + i % 3);
+            item.setSubtotal(lineProduct.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            total = total.add(item.getSubtotal());
+            orderItems.add(item);
+        }
+        order.setOrderItems(orderItems);
+        order.setTotalAmount(total);
+
+        cartItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            CartItem cartItem = new CartItem();
+            cartItem.setId(UUID.randomUUID());
+            cartItem.setUser(user);
+            cartItem.setProduct(product(category, i));
+            cartItem.setQuantity(1 + i % 3);
+            cartItems.add(new CartItemDTO(cartItem));
+        }
+    }
+
+    @Benchmark
+    public ProductDTO productDto() {
+        return new ProductDTO(product);
+    }
+
+    @Benchmark
+    public OrderDTO orderDto() {
+        return new OrderDTO(order);
+    }
+
+    @Benchmark
+    public CartDTO cartTotals() {
+        return new CartDTO(cartItems);
+    }
+
+    private static Product product(Category category, int index) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Sản phẩm " + index);
+        product.setDescription("Mô tả sản phẩm " + index);
+        product.setSku("SKU-" + index);
+        product.setPrice(BigDecimal.valueOf(199_000L + index * 1_000L));
+        // Every other product is on sale, so both price branches are exercised
+        product.setDiscountPrice(index % 2 == 0 ? BigDecimal.valueOf(149_000L + index * 1_000L) : null);
+        product.setStockQuantity(100);
+        product.setCategory(category);
+        product.setImageUrl("https://cdn.example.com/products/" + index + ".jpg");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setUpdatedAt(LocalDateTime.now());
+        return product;
+    }
+}
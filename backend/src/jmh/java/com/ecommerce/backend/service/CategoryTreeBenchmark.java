@@ -0,0 +1,90 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.dto.CategoryTreeNodeDTO;
+import com.ecommerce.backend.model.Category;
+import com.ecommerce.backend.repository.CategoryRepository;
+import com.ecommerce.backend.repository.ProductRepository;
+import com.ecommerce.backend.repository.projection.CategoryProductCountProjection;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin category tree assembly (node map, parent linking, sibling sort, depth and product count roll-up) over a
+ * synthetic tree. The repository is stubbed, so only the in-memory work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryTreeBenchmark {
+
+    @Param({"10000"})
+    private int nodes;
+
+    @Param({"10"})
+    private int fanOut;
+
+    private CategoryService categoryService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Category> categories = new ArrayList<>(nodes);
+        List<CategoryProductCountProjection> productCounts = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            Category category = new Category();
+            category.setId(UUID.randomUUID());
+            category.setName("Danh mục " + i);
+            category.setDisplayOrder(random.nextInt(fanOut));
+            category.setCreatedAt(LocalDateTime.now());
+            // Breadth-first numbering: node i hangs under node (i - 1) / fanOut
+            if (i > 0) {
+                category.setParent(categories.get((i - 1) / fanOut));
+            }
+            categories.add(category);
+
+            UUID categoryId = category.getId();
+            long productCount = random.nextInt(200);
+            productCounts.add(new CategoryProductCountProjection() {
+                @Override
+                public UUID getCategoryId() {
+                    return categoryId;
+                }
+
+                @Override
+                public Long getProductCount() {
+                    return productCount;
+                }
+            });
+        }
+
+        CategoryRepository categoryRepository = Mockito.mock(CategoryRepository.class);
+        Mockito.when(categoryRepository.findAllWithParentOrdered()).thenReturn(categories);
+        Mockito.when(categoryRepository.findCategoryProductCounts()).thenReturn(productCounts);
+        categoryService = new CategoryService(categoryRepository, Mockito.mock(ProductRepository.class));
+    }
+
+    @Benchmark
+    public List<CategoryTreeNodeDTO> adminCategoryTree() {
+        return categoryService.getAdminCategoryTree();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.exception.InvalidRequestException;
+import com.ecommerce.backend.model.Order.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status transition check used by single and bulk order updates, for an allowed and a rejected transition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderStatusTransitionBenchmark {
+
+    private OrderStatus current = OrderStatus.PENDING;
+    private OrderStatus allowed = OrderStatus.CONFIRMED;
+    private OrderStatus rejected = OrderStatus.DELIVERED;
+
+    @Benchmark
+    public void allowedTransition() {
+        OrderService.validateStatusTransition(current, allowed);
+    }
+
+    @Benchmark
+    public void rejectedTransition(Blackhole blackhole) {
+        try {
+            OrderService.validateStatusTransition(current, rejected);
+        } catch (InvalidRequestException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ecommerce.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint and per-scenario latency histograms in microseconds. Scenario latency is measured from the intended
+ * arrival time, so queueing inside the client or the server counts against the service instead of being omitted.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long measurementStartNanos = System.nanoTime();
+
+    record Summary(String name, long count, long errors, double throughputPerSecond, double p50Millis,
+                   double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    record Result(double elapsedSeconds, long dropped, List<Summary> scenarios, List<Summary> endpoints,
+                  Map<String, Histogram> histograms) {
+
+        Summary total() {
+            long count = 0;
+            long errors = 0;
+            double throughput = 0;
+            double worstP99 = 0;
+            for (Summary scenario : scenarios) {
+                count += scenario.count();
+                errors += scenario.errors();
+                throughput += scenario.throughputPerSecond();
+                worstP99 = Math.max(worstP99, scenario.p99Millis());
+            }
+            return new Summary("total", count, errors, throughput, 0, 0, worstP99, 0, 0);
+        }
+    }
+
+    void recordScenario(String scenario, long micros, boolean success) {
+        series("scenario:" + scenario).record(micros, success);
+    }
+
+    void recordEndpoint(String endpoint, long micros, boolean success) {
+        series("endpoint:" + endpoint).record(micros, success);
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Discards everything recorded so far; called when warmup ends.
+     */
+    void startMeasurement() {
+        series.values().forEach(Series::reset);
+        dropped.reset();
+        measurementStartNanos = System.nanoTime();
+    }
+
+    Result finish() {
+        double elapsedSeconds = (System.nanoTime() - measurementStartNanos) / 1_000_000_000.0;
+        List<Summary> scenarios = new ArrayList<>();
+        List<Summary> endpoints = new ArrayList<>();
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            histograms.put(entry.getKey(), histogram);
+            String key = entry.getKey();
+            String name = key.substring(key.indexOf(':') + 1);
+            Summary summary = summarize(name, histogram, entry.getValue().errors.sum(), elapsedSeconds);
+            (key.startsWith("scenario:") ? scenarios : endpoints).add(summary);
+        }
+        return new Result(elapsedSeconds, dropped.sum(), scenarios, endpoints, histograms);
+    }
+
+    static void print(Result result, PrintStream out) {
+        out.printf(Locale.ROOT, "%nMeasured %.1fs, dropped arrivals: %d%n", result.elapsedSeconds(), result.dropped());
+        printTable("Scenario", result.scenarios(), out);
+        printTable("Endpoint", result.endpoints(), out);
+    }
+
+    static void write(Result result, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : result.histograms().entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9._-]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)))) {
+                // Percentile distribution in milliseconds, loadable by the HdrHistogram plotter
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("histograms.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            for (Map.Entry<String, Histogram> entry : result.histograms().entrySet()) {
+                entry.getValue().setTag(entry.getKey().replace(' ', '_').replace(',', '_'));
+                writer.outputIntervalHistogram(entry.getValue());
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsedSeconds", result.elapsedSeconds());
+        summary.put("dropped", result.dropped());
+        summary.put("total", result.total());
+        summary.put("scenarios", result.scenarios());
+        summary.put("endpoints", result.endpoints());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+    }
+
+    private static Summary summarize(String name, Histogram histogram, long errors, double elapsedSeconds) {
+        long count = histogram.getTotalCount();
+        return new Summary(name, count, errors, elapsedSeconds > 0 ? count / elapsedSeconds : 0,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static void printTable(String title, List<Summary> rows, PrintStream out) {
+        out.printf(Locale.ROOT, "%n%-44s %9s %7s %9s %9s %9s %9s %9s %9s%n", title, "count", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Summary row : rows) {
+            out.printf(Locale.ROOT, "%-44s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", row.name(), row.count(),
+                    row.errors(), row.throughputPerSecond(), row.p50Millis(), row.p90Millis(), row.p99Millis(),
+                    row.p999Millis(), row.maxMillis());
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private Series series(String name) {
+        return series.computeIfAbsent(name, key -> new Series());
+    }
+
+    private static final class Series {
+        private final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long micros, boolean success) {
+            recorder.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.ecommerce.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: arrivals follow a Poisson process at a fixed rate regardless of how fast responses come back,
+ * and requests are sent with the asynchronous {@link HttpClient} so a slow server cannot throttle the offered load.
+ */
+final class LoadGenerator {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    record Session(UUID userId, String token) {
+    }
+
+    private final String baseUrl;
+    private final LoadTestOptions options;
+    private final LoadTestDataSeeder.SeededData data;
+    private final LatencyReport report;
+    private final ExecutorService responseExecutor;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+    private final List<Session> sessions = new ArrayList<>();
+    // Checkout borrows a session exclusively so a user never places two orders from the same cart at once
+    private final ConcurrentLinkedQueue<Session> idleCheckoutSessions = new ConcurrentLinkedQueue<>();
+    private final String[] scenarios;
+    private final int[] cumulativeWeights;
+    private Session admin;
+
+    LoadGenerator(String baseUrl, LoadTestOptions options, LoadTestDataSeeder.SeededData data, LatencyReport report) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.data = data;
+        this.report = report;
+        this.responseExecutor = Executors.newFixedThreadPool(Math.max(Runtime.getRuntime().availableProcessors(), 4));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responseExecutor)
+                .build();
+        this.inFlight = new Semaphore(options.maxInFlight());
+
+        scenarios = options.mix().keySet().toArray(String[]::new);
+        cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += options.mix().get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    void login() throws Exception {
+        admin = login(LoadTestDataSeeder.ADMIN_USERNAME);
+        for (String username : data.usernames().subList(0, options.sessions())) {
+            Session session = login(username);
+            sessions.add(session);
+            idleCheckoutSessions.add(session);
+        }
+    }
+
+    /**
+     * Runs warmup and then the measured phase, returning once every arrival of the measured phase has completed.
+     */
+    void run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        generate(warmupEnd);
+        report.startMeasurement();
+        generate(System.nanoTime() + options.duration().toNanos());
+        // Drain what is still in flight so the tail of the run is measured too
+        inFlight.acquire(options.maxInFlight());
+        inFlight.release(options.maxInFlight());
+    }
+
+    void shutdown() {
+        responseExecutor.shutdownNow();
+    }
+
+    private void generate(long endNanos) {
+        Random random = new Random(options.seed());
+        double meanIntervalNanos = 1_000_000_000.0 / options.rate();
+        long nextArrival = System.nanoTime();
+        while (nextArrival < endNanos) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String scenario = pickScenario(random);
+            if (inFlight.tryAcquire()) {
+                long intendedStart = nextArrival;
+                start(scenario).whenComplete((success, failure) -> {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                    report.recordScenario(scenario, micros, failure == null && Boolean.TRUE.equals(success));
+                    inFlight.release();
+                });
+            } else {
+                report.recordDropped();
+            }
+            // Exponential inter-arrival times give a Poisson arrival process
+            nextArrival += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+    }
+
+    private String pickScenario(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private CompletableFuture<Boolean> start(String scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (scenario) {
+            case "browse" -> send("GET /api/products", get("/api/products?page=" + random.nextInt(50) + "&size=20", null))
+                    .thenApply(LoadGenerator::ok);
+            case "search" -> {
+                String keyword = data.searchTerms().get(random.nextInt(data.searchTerms().size()));
+                yield send("GET /api/products/search", get("/api/products/search?size=20&keyword="
+                        + URLEncoder.encode(keyword, StandardCharsets.UTF_8), null))
+                        .thenApply(LoadGenerator::ok);
+            }
+            case "pdp" -> {
+                UUID productId = randomProduct();
+                yield send("GET /api/products/{id}", get("/api/products/" + productId, null))
+                        .thenCompose(product -> send("GET /api/reviews/product/{id}",
+                                get("/api/reviews/product/" + productId, null))
+                                .thenApply(reviews -> ok(product) && ok(reviews)));
+            }
+            case "cart" -> addToCart(sessions.get(random.nextInt(sessions.size()))).thenApply(LoadGenerator::ok);
+            case "checkout" -> checkout();
+            case "dashboard" -> send("GET /api/admin/dashboard/overview", get("/api/admin/dashboard/overview", admin))
+                    .thenApply(LoadGenerator::ok);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    private CompletableFuture<Boolean> checkout() {
+        Session session = idleCheckoutSessions.poll();
+        if (session == null) {
+            // Every session is already checking out; treat like any other request the system could not take
+            return CompletableFuture.completedFuture(false);
+        }
+        return addToCart(session)
+                .thenCompose(cartItem -> {
+                    if (!ok(cartItem)) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    String body = orderBody(readJson(cartItem.body()).path("id").asText());
+                    return send("POST /api/orders/{userId}", post("/api/orders/" + session.userId(), body, session))
+                            .thenApply(LoadGenerator::ok);
+                })
+                .whenComplete((success, failure) -> idleCheckoutSessions.add(session));
+    }
+
+    private CompletableFuture<HttpResponse<String>> addToCart(Session session) {
+        return send("POST /api/cart/{userId}/add", post("/api/cart/" + session.userId() + "/add?quantity=1&productId="
+                + randomProduct(), "", session));
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> report.recordEndpoint(endpoint,
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                        failure == null && response.statusCode() < 400));
+    }
+
+    private Session login(String username) throws Exception {
+        String body = JSON.writeValueAsString(Map.of("usernameOrEmail", username, "password", LoadTestDataSeeder.PASSWORD));
+        HttpResponse<String> response = client.send(post("/api/auth/login", body, null), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode() + " " + response.body());
+        }
+        JsonNode json = readJson(response.body());
+        return new Session(UUID.fromString(json.path("user").path("id").asText()), json.path("token").asText());
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return request(path, session).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, Session session) {
+        return request(path, session)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(options.requestTimeout());
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    private UUID randomProduct() {
+        // Squared uniform skews traffic toward the front of the catalog, matching the seeded order history
+        double skew = ThreadLocalRandom.current().nextDouble();
+        return data.productIds().get((int) (skew * skew * data.productIds().size()));
+    }
+
+    private static String orderBody(String cartItemId) {
+        try {
+            return JSON.writeValueAsString(Map.of(
+                    "shippingAddress", "123 Đường Thử Tải, Quận 1, TP.HCM",
+                    "shippingPhone", "0900000000",
+                    "shippingName", "Khách hàng thử tải",
+                    "paymentMethod", "COD",
+                    "cartItemIds", List.of(cartItemId)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonNode readJson(String body) {
+        try {
+            return JSON.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected response body: " + body, e);
+        }
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response.statusCode() < 400;
+    }
+}
@@ -0,0 +1,174 @@
+package com.ecommerce.backend.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds a deterministic storefront: a category tree, products, customers with one shared password and a year of
+ * order history, written with batched JDBC inserts into the schema Hibernate created.
+ */
+final class LoadTestDataSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+    static final String ADMIN_USERNAME = "loadtest-admin";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] PRODUCT_WORDS = {
+            "áo", "quần", "giày", "túi", "đồng hồ", "tai nghe", "điện thoại", "laptop", "bàn phím", "chuột",
+            "nồi", "chảo", "bình", "ghế", "đèn", "sách", "balo", "mũ", "kính", "sạc"
+    };
+    private static final String[] ADJECTIVES = {
+            "cao cấp", "thể thao", "chính hãng", "mini", "không dây", "chống nước", "thời trang", "giá rẻ"
+    };
+
+    record SeededData(List<UUID> productIds, List<String> usernames, List<String> searchTerms) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestOptions options;
+    private final Random random;
+
+    LoadTestDataSeeder(JdbcTemplate jdbcTemplate, LoadTestOptions options) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    SeededData seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> categoryIds = seedCategories(now);
+        List<UUID> productIds = seedProducts(categoryIds, now);
+        List<UUID> userIds = new ArrayList<>(options.users());
+        List<String> usernames = seedUsers(userIds, now);
+        seedOrders(userIds, productIds, now);
+        return new SeededData(productIds, usernames, List.of(PRODUCT_WORDS));
+    }
+
+    private List<UUID> seedCategories(LocalDateTime now) {
+        List<UUID> ids = new ArrayList<>(options.categories());
+        List<Object[]> rows = new ArrayList<>(options.categories());
+        int roots = Math.max(options.categories() / 10, 1);
+        for (int i = 0; i < options.categories(); i++) {
+            UUID id = nextUuid();
+            // The first tenth are roots; every other category hangs under a random earlier one
+            UUID parentId = i < roots ? null : ids.get(random.nextInt(i));
+            ids.add(id);
+            rows.add(new Object[]{id, "Danh mục " + i, "Danh mục thử tải " + i, parentId, i % 20,
+                    Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        batchInsert("INSERT INTO categories (id, name, description, parent_id, display_order, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private List<UUID> seedProducts(List<UUID> categoryIds, LocalDateTime now) {
+        List<UUID> ids = new ArrayList<>(options.products());
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < options.products(); i++) {
+            UUID id = nextUuid();
+            ids.add(id);
+            String name = PRODUCT_WORDS[random.nextInt(PRODUCT_WORDS.length)] + " "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + i;
+            BigDecimal price = BigDecimal.valueOf(50_000L + random.nextInt(5_000) * 1_000L);
+            BigDecimal discountPrice = random.nextInt(4) == 0
+                    ? price.multiply(BigDecimal.valueOf(0.8)).setScale(2, java.math.RoundingMode.HALF_UP)
+                    : null;
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(525_600));
+            rows.add(new Object[]{id, name, "Mô tả cho " + name, price, discountPrice, 1_000_000, "LT-SKU-" + i,
+                    categoryIds.get(random.nextInt(categoryIds.size())), "https://cdn.example.com/p/" + i + ".jpg",
+                    "ACTIVE", BigDecimal.ZERO, 0, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt)});
+            if (rows.size() == BATCH_SIZE) {
+                insertProducts(rows);
+            }
+        }
+        insertProducts(rows);
+        return ids;
+    }
+
+    private List<String> seedUsers(List<UUID> userIds, LocalDateTime now) {
+        // One hash for everyone: hashing per user would dominate seeding time
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<String> usernames = new ArrayList<>(options.users());
+        List<Object[]> rows = new ArrayList<>(options.users() + 1);
+        rows.add(new Object[]{nextUuid(), ADMIN_USERNAME, "admin@loadtest.local", passwordHash, "Load Test Admin",
+                "ADMIN", Timestamp.valueOf(now)});
+        for (int i = 0; i < options.users(); i++) {
+            UUID id = nextUuid();
+            String username = "loadtest-user-" + i;
+            userIds.add(id);
+            usernames.add(username);
+            rows.add(new Object[]{id, username, username + "@loadtest.local", passwordHash, "Khách hàng " + i,
+                    "USER", Timestamp.valueOf(now.minusDays(random.nextInt(730)))});
+        }
+        batchInsert("INSERT INTO users (id, username, email, password, full_name, role, enabled, token_version, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, true, 0, ?, CURRENT_TIMESTAMP)", rows);
+        return usernames;
+    }
+
+    private void seedOrders(List<UUID> userIds, List<UUID> productIds, LocalDateTime now) {
+        String[] statuses = {"DELIVERED", "DELIVERED", "DELIVERED", "SHIPPED", "PROCESSING", "PENDING", "CANCELLED"};
+        List<Object[]> orders = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> items = new ArrayList<>(BATCH_SIZE * 3);
+        for (int i = 0; i < options.orders(); i++) {
+            UUID orderId = nextUuid();
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600)));
+            String status = statuses[random.nextInt(statuses.length)];
+            String paymentStatus = "DELIVERED".equals(status) || "SHIPPED".equals(status) ? "PAID" : "PENDING";
+
+            BigDecimal total = BigDecimal.ZERO;
+            int lines = 1 + random.nextInt(4);
+            for (int line = 0; line < lines; line++) {
+                // Squaring skews purchases toward the front of the catalog, like real bestsellers
+                double skew = random.nextDouble();
+                UUID productId = productIds.get((int) (skew * skew * productIds.size()));
+                BigDecimal price = BigDecimal.valueOf(50_000L + random.nextInt(5_000) * 1_000L);
+                int quantity = 1 + random.nextInt(3);
+                BigDecimal subtotal = price.multiply(BigDecimal.valueOf(quantity));
+                total = total.add(subtotal);
+                items.add(new Object[]{nextUuid(), orderId, productId, "Sản phẩm", price, quantity, subtotal,
+                        createdAt, createdAt});
+            }
+            orders.add(new Object[]{orderId, userIds.get(random.nextInt(userIds.size())), "LT-ORD-" + i, total,
+                    "Địa chỉ giao hàng " + i, "0900000000", "Khách hàng", status, "COD", paymentStatus,
+                    createdAt, createdAt});
+
+            if (orders.size() == BATCH_SIZE) {
+                insertOrders(orders, items);
+            }
+        }
+        insertOrders(orders, items);
+    }
+
+    private void insertProducts(List<Object[]> rows) {
+        batchInsert("INSERT INTO products (id, name, description, price, discount_price, stock_quantity, sku, category_id, " +
+                "image_url, status, rating, total_reviews, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertOrders(List<Object[]> orders, List<Object[]> items) {
+        batchInsert("INSERT INTO orders (id, user_id, order_number, total_amount, discount_amount, shipping_address, " +
+                "shipping_phone, shipping_name, status, payment_method, payment_status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?)", orders);
+        batchInsert("INSERT INTO order_items (id, order_id, product_id, product_name, product_price, quantity, subtotal, " +
+                "order_created_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", items);
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        rows.clear();
+    }
+
+    private UUID nextUuid() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.backend.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+
+/**
+ * The database the application under test talks to: an embedded PostgreSQL started from bundled binaries,
+ * or an existing server when {@code jdbcUrl} is given. PostgreSQL itself is required because the application
+ * relies on native SQL (upserts, advisory locks, FILTER clauses) that in-memory databases do not support.
+ */
+final class LoadTestDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private LoadTestDatabase(EmbeddedPostgres embedded, String jdbcUrl, String username, String password) {
+        this.embedded = embedded;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    static LoadTestDatabase start(LoadTestOptions options) throws IOException {
+        if (!options.embeddedDatabase()) {
+            return new LoadTestDatabase(null, options.jdbcUrl(), options.jdbcUsername(), options.jdbcPassword());
+        }
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                // Throughput numbers should not depend on fsync latency of the machine running the test
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .setServerConfig("full_page_writes", "off")
+                .setServerConfig("max_connections", "200")
+                .start();
+        return new LoadTestDatabase(embedded, embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+    }
+
+    String jdbcUrl() {
+        // Lets the seeder's batched inserts go out as multi-row statements
+        return jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options as {@code key=value} pairs, e.g. {@code rate=300 duration=120s mix=browse:50,checkout:10}.
+ */
+record LoadTestOptions(
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        long seed,
+        int categories,
+        int products,
+        int users,
+        int orders,
+        int sessions,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Duration requestTimeout,
+        int maxInFlight,
+        Map<String, Integer> mix,
+        Path reportDirectory,
+        List<String> threadModes,
+        double gateP99Millis,
+        double gateMinThroughput,
+        double gateMaxErrorRate
+) {
+
+    private static final String DEFAULT_MIX = "browse:35,search:20,pdp:25,cart:12,checkout:6,dashboard:2";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("jdbcUrl", ""),
+                values.getOrDefault("jdbcUsername", "postgres"),
+                values.getOrDefault("jdbcPassword", "postgres"),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("categories", "200")),
+                Integer.parseInt(values.getOrDefault("products", "20000")),
+                Integer.parseInt(values.getOrDefault("users", "2000")),
+                Integer.parseInt(values.getOrDefault("orders", "20000")),
+                Integer.parseInt(values.getOrDefault("sessions", "200")),
+                Double.parseDouble(values.getOrDefault("rate", "100")),
+                duration(values.getOrDefault("warmup", "15s")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("requestTimeout", "10s")),
+                Integer.parseInt(values.getOrDefault("maxInFlight", "2000")),
+                mix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(values.getOrDefault("report", "target/loadtest")),
+                threadModes(values.getOrDefault("threads", "platform")),
+                // A negative gate is disabled; the error-rate gate is on by default so a broken build never passes
+                Double.parseDouble(values.getOrDefault("gateP99Ms", "-1")),
+                Double.parseDouble(values.getOrDefault("gateMinThroughput", "-1")),
+                Double.parseDouble(values.getOrDefault("gateMaxErrorRate", "0.01"))
+        );
+        if (options.sessions() > options.users()) {
+            throw new IllegalArgumentException("sessions must not exceed users");
+        }
+        return options;
+    }
+
+    boolean embeddedDatabase() {
+        return jdbcUrl.isBlank();
+    }
+
+    private static Duration duration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("s")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+
+    /**
+     * {@code platform}, {@code virtual}, or {@code compare} to run both modes back to back on the same data.
+     */
+    private static List<String> threadModes(String value) {
+        List<String> modes = switch (value.trim().toLowerCase()) {
+            case "platform" -> List.of("platform");
+            case "virtual" -> List.of("virtual");
+            case "compare" -> List.of("platform", "virtual");
+            default -> throw new IllegalArgumentException("threads must be platform, virtual or compare, got: " + value);
+        };
+        if (modes.contains("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("threads=" + value + " needs Java 21 or later, running on "
+                    + Runtime.version().feature());
+        }
+        return modes;
+    }
+
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+}
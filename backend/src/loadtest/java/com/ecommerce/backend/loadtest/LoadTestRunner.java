@@ -0,0 +1,156 @@
+package com.ecommerce.backend.loadtest;
+
+import com.ecommerce.backend.EcommerceBackendApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Boots the application against a seeded PostgreSQL, drives it with an open-model request mix and reports latency
+ * percentiles per endpoint and per scenario. Exits non-zero when a configured gate is missed, so CI can run it with
+ * {@code mvn -Ploadtest verify -Dloadtest.args="duration=60s gateP99Ms=250"}.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        boolean passed = true;
+        try (LoadTestDatabase database = LoadTestDatabase.start(options)) {
+            LoadTestDataSeeder.SeededData data;
+            // First boot only lets Hibernate create the schema; the second one starts on a fully seeded database
+            // so startup backfills (sales rollup, customer stats) see the historical orders
+            try (ConfigurableApplicationContext context = boot(database, options, "platform")) {
+                long start = System.nanoTime();
+                data = new LoadTestDataSeeder(context.getBean(JdbcTemplate.class), options).seed();
+                System.out.printf(Locale.ROOT, "Seeded %d products, %d users, %d orders in %.1fs%n", options.products(),
+                        options.users(), options.orders(), (System.nanoTime() - start) / 1_000_000_000.0);
+            }
+
+            boolean compare = options.threadModes().size() > 1;
+            Map<String, LatencyReport.Result> results = new LinkedHashMap<>();
+            for (String threads : options.threadModes()) {
+                // Each mode gets a fresh boot, so caches and pools start from the same cold state
+                try (ConfigurableApplicationContext context = boot(database, options, threads)) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    LatencyReport report = new LatencyReport();
+                    LoadGenerator generator = new LoadGenerator("http://localhost:" + port, options, data, report);
+                    try {
+                        generator.login();
+                        System.out.printf(Locale.ROOT, "Offering %.0f req/s on %s threads: %s warmup, %s measured, mix %s%n",
+                                options.rate(), threads, options.warmup(), options.duration(), options.mix());
+                        generator.run();
+                    } finally {
+                        generator.shutdown();
+                    }
+
+                    LatencyReport.Result result = report.finish();
+                    LatencyReport.print(result, System.out);
+                    LatencyReport.write(result, compare
+                            ? options.reportDirectory().resolve(threads)
+                            : options.reportDirectory());
+                    passed &= checkGates(result, options);
+                    results.put(threads, result);
+                }
+            }
+            if (compare) {
+                printComparison(results);
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestDatabase database, LoadTestOptions options,
+                                                       String threads) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        // Virtual mode also turns on the database limiter, which follows this property
+        properties.put("spring.threads.virtual.enabled", "virtual".equals(threads));
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", database.jdbcUrl());
+        properties.put("spring.datasource.username", database.username());
+        properties.put("spring.datasource.password", database.password());
+        properties.put("spring.datasource.hikari.maximum-pool-size", 40);
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.jpa.open-in-view", false);
+        properties.put("spring.jpa.hibernate.naming.physical-strategy",
+                "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl");
+        properties.put("spring.jpa.hibernate.naming.implicit-strategy",
+                "org.hibernate.boot.model.naming.ImplicitNamingStrategyLegacyJpaImpl");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("jwt.secret", "load-test-secret-load-test-secret-load-test-secret-load-test-secret-0123456789");
+        properties.put("jwt.expiration", 86_400_000);
+        // The harness is a single client address; per-client limits would only measure the limiter
+        properties.put("rate-limit.enabled", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        // devtools is on the test classpath and its restart launcher would boot the context a second time in a
+        // restart class loader. Restart is decided before the environment exists, so only a system property works.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(EcommerceBackendApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(properties)
+                .run();
+    }
+
+    private static void printComparison(Map<String, LatencyReport.Result> results) {
+        System.out.printf(Locale.ROOT, "%nThread modes%n%-10s %10s %8s %14s %10s%n",
+                "threads", "req/s", "errors", "worst p99 ms", "dropped");
+        results.forEach((threads, result) -> {
+            LatencyReport.Summary total = result.total();
+            System.out.printf(Locale.ROOT, "%-10s %10.1f %8d %14.2f %10d%n", threads,
+                    total.throughputPerSecond(), total.errors(), total.p99Millis(), result.dropped());
+        });
+
+        System.out.printf(Locale.ROOT, "%n%-12s", "scenario");
+        results.keySet().forEach(threads -> System.out.printf(Locale.ROOT, " %12s %12s",
+                threads + " p50", threads + " p99"));
+        System.out.println();
+        results.values().iterator().next().scenarios().forEach(scenario -> {
+            System.out.printf(Locale.ROOT, "%-12s", scenario.name());
+            results.values().forEach(result -> result.scenarios().stream()
+                    .filter(candidate -> candidate.name().equals(scenario.name()))
+                    .findFirst()
+                    .ifPresentOrElse(
+                            match -> System.out.printf(Locale.ROOT, " %12.2f %12.2f", match.p50Millis(), match.p99Millis()),
+                            () -> System.out.printf(Locale.ROOT, " %12s %12s", "-", "-")));
+            System.out.println();
+        });
+    }
+
+    private static boolean checkGates(LatencyReport.Result result, LoadTestOptions options) {
+        LatencyReport.Summary total = result.total();
+        List<String> failures = new ArrayList<>();
+        if (options.gateP99Millis() >= 0 && total.p99Millis() > options.gateP99Millis()) {
+            failures.add(String.format(Locale.ROOT, "worst scenario p99 %.2fms > %.2fms", total.p99Millis(),
+                    options.gateP99Millis()));
+        }
+        if (options.gateMinThroughput() >= 0 && total.throughputPerSecond() < options.gateMinThroughput()) {
+            failures.add(String.format(Locale.ROOT, "throughput %.1f req/s < %.1f req/s", total.throughputPerSecond(),
+                    options.gateMinThroughput()));
+        }
+        if (options.gateMaxErrorRate() >= 0 && total.errorRate() > options.gateMaxErrorRate()) {
+            failures.add(String.format(Locale.ROOT, "error rate %.4f > %.4f", total.errorRate(),
+                    options.gateMaxErrorRate()));
+        }
+        if (options.gateMaxErrorRate() >= 0 && result.dropped() > 0) {
+            failures.add(result.dropped() + " arrivals dropped at maxInFlight=" + options.maxInFlight());
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("\nLoad test passed. Report written to " + options.reportDirectory().toAbsolutePath());
+            return true;
+        }
+        System.out.println("\nLoad test FAILED: " + String.join("; ", failures));
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "admin.events")
+@Getter
+@Setter
+public class AdminEventsConfig {
+    private int bufferSize = 256;
+    private int maxClients = 200;
+    private int senderThreads = 4;
+    private long emitterTimeoutMs = 1800000;
+    private long heartbeatIntervalMs = 15000;
+}
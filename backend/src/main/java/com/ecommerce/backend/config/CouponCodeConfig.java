@@ -0,0 +1,18 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "coupons.codes")
+@Getter
+@Setter
+public class CouponCodeConfig {
+    private String alphabet = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private int length = 10;
+    private int batchSize = 5000;
+    private int maxCodesPerRequest = 1_000_000;
+    private double bloomFalsePositiveRate = 0.001;
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+@Configuration
+@ConfigurationProperties(prefix = "coupons.redemption")
+@Getter
+@Setter
+public class CouponRedemptionConfig {
+    private int shardCount = 16;
+    private long usageSyncIntervalMs = 60000;
+    private BigDecimal vipLifetimeSpend = BigDecimal.valueOf(20_000_000);
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "customers.stats")
+@Getter
+@Setter
+public class CustomerStatsConfig {
+    private boolean backfillOnStartup = true;
+    private int backfillParallelism = 4;
+    // Users are split into this many slices by hash; each slice is rebuilt in its own transaction.
+    private int slices = 64;
+}
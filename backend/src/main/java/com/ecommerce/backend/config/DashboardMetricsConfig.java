@@ -0,0 +1,16 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "dashboard.metrics")
+@Getter
+@Setter
+public class DashboardMetricsConfig {
+    private long reconcileIntervalMs = 300000;
+    private long queryTimeoutMs = 2000;
+    private int queryParallelism = 4;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "database.limiter")
+@Getter
+@Setter
+public class DatabaseLimiterConfig {
+    // Unset: on exactly when spring.threads.virtual.enabled is true
+    private Boolean enabled;
+    // Connections that may be checked out at once; 0 uses the Hikari maximum pool size.
+    private int maxConcurrent = 0;
+    // How long getConnection waits for a permit; 0 uses the Hikari connection timeout.
+    private long acquireTimeoutMs = 0;
+    // FIFO hand-off, so a burst of callers is served in arrival order.
+    private boolean fair = true;
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@Slf4j
+public class DatabaseLimiterDataSourceConfig {
+
+    /**
+     * Puts a {@link ConnectionLimitingDataSource} in front of the pool when the limiter is on.
+     * Static and binding the raw properties, so it does not pull other beans into early initialization.
+     */
+    @Bean
+    public static BeanPostProcessor databaseLimiterDataSourcePostProcessor(Environment environment) {
+        DatabaseLimiterConfig config = Binder.get(environment)
+                .bind("database.limiter", DatabaseLimiterConfig.class)
+                .orElseGet(DatabaseLimiterConfig::new);
+        boolean enabled = config.getEnabled() != null
+                ? config.getEnabled()
+                : environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || isLimited(dataSource)) {
+                    return bean;
+                }
+                HikariDataSource pool = hikari(dataSource);
+                int maxConcurrent = config.getMaxConcurrent() > 0 || pool == null
+                        ? Math.max(config.getMaxConcurrent(), 1)
+                        : pool.getMaximumPoolSize();
+                long acquireTimeoutMs = config.getAcquireTimeoutMs() > 0 || pool == null
+                        ? Math.max(config.getAcquireTimeoutMs(), 1)
+                        : pool.getConnectionTimeout();
+                log.info("[DB] Limiting '{}' to {} concurrent connections ({} queue, {} ms timeout)",
+                        beanName, maxConcurrent, config.isFair() ? "fair" : "unfair", acquireTimeoutMs);
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrent, acquireTimeoutMs, config.isFair());
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (isLimited(dataSource)) {
+                unwrap(dataSource, ConnectionLimitingDataSource.class).bindTo(registry);
+            }
+        };
+    }
+
+    private static boolean isLimited(DataSource dataSource) {
+        return unwrap(dataSource, ConnectionLimitingDataSource.class) != null;
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        return unwrap(dataSource, HikariDataSource.class);
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "datagen")
+@Getter
+@Setter
+public class DatasetGeneratorConfig {
+    private long seed = 42;
+    private long categories = 5_000;
+    private int categoryRoots = 20;
+    // Children per category below the roots; a lower fan-out gives deeper trees.
+    private int categoryFanout = 4;
+    private long products = 100_000;
+    private long users = 500_000;
+    private int admins = 1;
+    private String password = "password123";
+    private long orders = 2_000_000;
+    private int maxItemsPerOrder = 4;
+    private long reviews = 500_000;
+    // Popularity exponent for products in orders and reviews; 1 is uniform, higher concentrates on fewer products.
+    private double popularitySkew = 3.0;
+    private int historyDays = 730;
+    private int parallelism = 0;
+    private int chunkSize = 100_000;
+    private boolean truncate = false;
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.backend.config;
+
+import com.ecommerce.backend.service.DatasetGeneratorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entry point of the {@code datagen} profile: loads the synthetic dataset and exits before the application is
+ * marked ready, so the regular startup backfills never run against a half-loaded database.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private final DatasetGeneratorService datasetGeneratorService;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        datasetGeneratorService.generate();
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
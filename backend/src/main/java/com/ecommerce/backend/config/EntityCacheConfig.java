@@ -0,0 +1,29 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "entity-cache")
+@Getter
+@Setter
+public class EntityCacheConfig {
+    // Hibernate second-level cache for the reference entities annotated with @Cache
+    private boolean enabled = true;
+    // Upper bound on how stale an entry can get when the table is changed outside Hibernate.
+    private long timeToLiveSeconds = 3600;
+    // Hibernate statistics, needed for the per-region hibernate.second.level.cache.* meters.
+    private boolean statistics = true;
+    // Max entries per region; natural-id regions ("<region>##NaturalId") get the same limit.
+    private Map<String, Long> regions = new LinkedHashMap<>(Map.of(
+            "categories", 2_000L,
+            "category-children", 2_000L,
+            "banners", 500L,
+            "coupons", 1_000L,
+            "users", 20_000L));
+}
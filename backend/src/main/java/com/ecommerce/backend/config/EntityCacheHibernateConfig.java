@@ -0,0 +1,77 @@
+package com.ecommerce.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+
+@Configuration
+@RequiredArgsConstructor
+public class EntityCacheHibernateConfig {
+
+    private static final String NATURAL_ID_REGION_SUFFIX = "##NaturalId";
+
+    private final EntityCacheConfig entityCacheConfig;
+
+    /**
+     * Local heap caches backing the Hibernate second-level cache, one per configured region and its
+     * natural-id region, each bounded by entry count.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // A programmatic configuration; the URI only names the manager within the provider
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("urn:ecommerce:entity-cache"), new DefaultConfiguration(getClass().getClassLoader()));
+        Duration timeToLive = Duration.ofSeconds(entityCacheConfig.getTimeToLiveSeconds());
+        entityCacheConfig.getRegions().forEach((region, maxEntries) -> {
+            createRegion(cacheManager, region, maxEntries, timeToLive);
+            createRegion(cacheManager, region + NATURAL_ID_REGION_SUFFIX, maxEntries, timeToLive);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(ObjectProvider<CacheManager> entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, entityCacheConfig.isStatistics());
+            // Statistics would otherwise log a summary at the end of every session
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, entityCacheConfig.isEnabled());
+            if (!entityCacheConfig.isEnabled()) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager.getObject());
+            // Every region must be sized in entity-cache.regions; an unbounded fallback cache is never created
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Keeps Category.subCategories in sync when a child is saved with a new parent
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxEntries, Duration timeToLive) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                                Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))));
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.backend.config;
+
+import com.ecommerce.backend.repository.NaturalIdRepositoryImpl;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@Configuration
+@EnableJpaRepositories(basePackages = "com.ecommerce.backend.repository", repositoryBaseClass = NaturalIdRepositoryImpl.class)
+public class JpaRepositoryConfig {
+}
@@ -12,5 +12,9 @@ import org.springframework.context.annotation.Configuration;
 public class JwtConfig {
     private String secret;
     private Long expiration;
+    private int verifiedCacheSize = 10_000;
+    // How long a user's token version, role and enabled flag read from the database are trusted. Bounds how
+    // late a logout-all, role change or deletion made on another instance takes effect here; 0 = never re-read.
+    private long revocationRecheckMs = 30_000;
 }
 
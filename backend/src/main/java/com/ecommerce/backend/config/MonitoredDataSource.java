@@ -0,0 +1,157 @@
+package com.ecommerce.backend.config;
+
+import com.ecommerce.backend.service.SqlRequestStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource whose statements report to the {@link SqlRequestStats} bound to the current thread: one statement per
+ * execute call (a batch counts once), the rows read through its result sets and the time spent executing.
+ * Statements created while nothing is bound are returned unwrapped, so background work pays nothing.
+ */
+class MonitoredDataSource extends DelegatingDataSource {
+
+    MonitoredDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(MonitoredDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class WrapperHandler implements InvocationHandler {
+
+        private final Object target;
+
+        WrapperHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Monitored[" + target + "]";
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    return handle(method, args);
+            }
+            return invokeTarget(method, args);
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends WrapperHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats == null || !(result instanceof Statement statement)) {
+                return result;
+            }
+            String name = method.getName();
+            // prepareStatement / prepareCall carry the SQL; plain statements get it on execute
+            String sql = ("prepareStatement".equals(name) || "prepareCall".equals(name)) ? (String) args[0] : null;
+            return proxy(method.getReturnType().asSubclass(Statement.class), new StatementHandler(statement, sql, stats));
+        }
+    }
+
+    private static final class StatementHandler extends WrapperHandler {
+
+        private final String sql;
+        private final SqlRequestStats stats;
+
+        StatementHandler(Statement target, String sql, SqlRequestStats stats) {
+            super(target);
+            this.sql = sql;
+            this.stats = stats;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String executedSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                long startedAt = System.nanoTime();
+                try {
+                    return wrapResultSet(invokeTarget(method, args));
+                } finally {
+                    stats.recordStatement(executedSql, System.nanoTime() - startedAt);
+                }
+            }
+            if ("getResultSet".equals(name)) {
+                return wrapResultSet(invokeTarget(method, args));
+            }
+            return invokeTarget(method, args);
+        }
+
+        private Object wrapResultSet(Object result) {
+            return result instanceof ResultSet resultSet ? proxy(ResultSet.class, new ResultSetHandler(resultSet, stats)) : result;
+        }
+    }
+
+    private static final class ResultSetHandler extends WrapperHandler {
+
+        private final SqlRequestStats stats;
+
+        ResultSetHandler(ResultSet target, SqlRequestStats stats) {
+            super(target);
+            this.stats = stats;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                stats.recordRow();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "orders.partitioning")
+@Getter
+@Setter
+public class OrderPartitionConfig {
+    private boolean enabled = false;
+    private int monthsAhead = 3;
+    private int hotMonths = 24;
+    private boolean archiveColdPartitions = true;
+    private String archiveSchema = "orders_archive";
+}
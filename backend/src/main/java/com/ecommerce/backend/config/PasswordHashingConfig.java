@@ -0,0 +1,17 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.password-hashing")
+@Getter
+@Setter
+public class PasswordHashingConfig {
+    private int strength = 10;
+    private int threads = 0; // 0 = one per available processor
+    private int queueCapacity = 32;
+    private long timeoutMs = 5000;
+}
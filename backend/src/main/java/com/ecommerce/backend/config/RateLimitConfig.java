@@ -0,0 +1,45 @@
+package com.ecommerce.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+    private boolean enabled = true;
+    private int maxTrackedClients = 100_000;
+    private long cleanupIntervalMs = 60_000;
+    // Checked in order; the first group with a matching path applies. Empty = built-in defaults.
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private List<String> paths = new ArrayList<>();
+        private int capacity = 60;
+        private double refillPerSecond = 10;
+        private int defaultCost = 1;
+        // Checked in order; the first matching path sets the cost of one request.
+        private List<Cost> costs = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cost {
+        private String path;
+        private int cost;
+    }
+}
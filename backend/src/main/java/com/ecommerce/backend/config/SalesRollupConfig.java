@@ -0,0 +1,16 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "dashboard.sales-rollup")
+@Getter
+@Setter
+public class SalesRollupConfig {
+    private boolean backfillOnStartup = true;
+    private int backfillChunkDays = 31;
+    private int maxTrendDays = 366;
+}
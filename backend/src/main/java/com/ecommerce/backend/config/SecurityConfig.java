@@ -1,6 +1,7 @@
 package com.ecommerce.backend.config;
 
 import com.ecommerce.backend.security.JwtAuthenticationFilter;
+import com.ecommerce.backend.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final CorsConfigurationSource corsConfigurationSource;
@@ -46,6 +48,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/**").authenticated()
                 // Admin endpoints
                 .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
+                // Actuator: health for load balancers, everything else (metrics) for admins
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                 // All other requests require authentication
                 .anyRequest().authenticated()
             )
@@ -53,7 +58,8 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
@@ -0,0 +1,28 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "sql.monitoring")
+@Getter
+@Setter
+public class SqlMonitoringConfig {
+    private boolean enabled = true;
+    // A request running the same statement shape more than this many times is reported as a likely N+1.
+    private int repeatedStatementThreshold = 10;
+    // The N+1 and budget warnings are logged at most once per endpoint and statement shape in this interval;
+    // the counters still see every request. 0 logs every occurrence.
+    private long warningIntervalMs = 60000;
+    // Statements allowed per request when an endpoint has no entry in budgets; 0 disables the default.
+    private int defaultBudget = 0;
+    // Keyed by "METHOD /uri/{pattern}", e.g. "[GET /api/products/{id}]": 4
+    private Map<String, Integer> budgets = new HashMap<>();
+    // Throw instead of logging when a budget is exceeded; meant for tests.
+    private boolean failOnBudgetExceeded = false;
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.backend.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlMonitoringDataSourceConfig {
+
+    /**
+     * Wraps every DataSource so statements issued while a request is being monitored are counted.
+     * Static and reading the raw property, so it does not pull other beans into early initialization.
+     */
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("sql.monitoring.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof MonitoredDataSource)) {
+                    return new MonitoredDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "virtual-threads")
+@Getter
+@Setter
+public class VirtualThreadConfig {
+    // Log virtual threads that stay pinned to their carrier (blocking inside synchronized or native code)
+    private boolean pinningDiagnostics = true;
+    // Pinned episodes shorter than this are ignored.
+    private long pinningThresholdMs = 20;
+    // Stack frames logged for each pinning site.
+    private int pinningStackDepth = 15;
+    // A site already reported is logged again at most this often, with its count since the last report.
+    private long pinningReportIntervalMs = 60_000;
+}
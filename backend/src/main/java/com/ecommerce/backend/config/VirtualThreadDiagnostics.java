@@ -0,0 +1,141 @@
+package com.ecommerce.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks the virtual-thread mode at startup and, when it is active, streams the JFR {@code jdk.VirtualThreadPinned}
+ * event to the log. Each pinning site (the innermost application or library frame) is logged with its stack the first
+ * time, then summarized at most once per report interval. The {@code jvm.threads.virtual.pinned} counter is tagged
+ * with the library the site belongs to, so pinning in the JDBC driver, the pool or Hibernate stands out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadDiagnostics {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final Map<String, String> LIBRARIES = Map.of(
+            "org.postgresql.", "postgresql",
+            "com.zaxxer.hikari.", "hikari",
+            "org.hibernate.", "hibernate",
+            "org.springframework.", "spring",
+            "org.apache.", "apache",
+            "com.ecommerce.", "application");
+
+    private final Environment environment;
+    private final VirtualThreadConfig virtualThreadConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+    private RecordingStream recordingStream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return;
+        }
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < VIRTUAL_THREADS_JAVA_VERSION) {
+            log.warn("[VT] spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "requests keep running on the platform thread pool", javaVersion);
+            return;
+        }
+        log.info("[VT] Serving requests on virtual threads");
+        if (virtualThreadConfig.isPinningDiagnostics()) {
+            startPinningStream();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void startPinningStream() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(virtualThreadConfig.getPinningThresholdMs()))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("[VT] Reporting virtual threads pinned for more than {} ms", virtualThreadConfig.getPinningThresholdMs());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        RecordedFrame siteFrame = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && library(frame) != null)
+                .findFirst()
+                .orElse(null);
+        String site = siteFrame != null ? describe(siteFrame) : "unknown";
+        String library = siteFrame != null ? library(siteFrame) : "other";
+        long durationMs = event.getDuration().toMillis();
+
+        meterRegistry.counter("jvm.threads.virtual.pinned", "library", library).increment();
+        PinningSite stats = sites.computeIfAbsent(site, key -> new PinningSite());
+        stats.count.increment();
+        stats.maxMillis.accumulateAndGet(durationMs, Math::max);
+
+        long now = System.nanoTime();
+        long lastReported = stats.lastReportedAt.get();
+        if (lastReported == NEVER) {
+            if (stats.lastReportedAt.compareAndSet(NEVER, now)) {
+                stats.count.reset();
+                log.warn("[VT] Virtual thread pinned for {} ms in {} ({}):{}", durationMs, site, library, stack(frames));
+            }
+        } else if (now - lastReported >= TimeUnit.MILLISECONDS.toNanos(virtualThreadConfig.getPinningReportIntervalMs())
+                && stats.lastReportedAt.compareAndSet(lastReported, now)) {
+            log.warn("[VT] Virtual thread pinned {} more times in {} ({}), longest {} ms",
+                    stats.count.sumThenReset(), site, library, stats.maxMillis.getAndSet(0));
+        }
+    }
+
+    private String stack(List<RecordedFrame> frames) {
+        StringBuilder stack = new StringBuilder();
+        frames.stream()
+                .limit(virtualThreadConfig.getPinningStackDepth())
+                .forEach(frame -> stack.append(System.lineSeparator()).append("    at ").append(describe(frame)));
+        return stack.toString();
+    }
+
+    private static String library(RecordedFrame frame) {
+        String className = frame.getMethod().getType().getName();
+        return LIBRARIES.entrySet().stream()
+                .filter(entry -> className.startsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static final class PinningSite {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicLong lastReportedAt = new AtomicLong(NEVER);
+    }
+}
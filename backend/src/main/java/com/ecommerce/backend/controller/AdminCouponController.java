@@ -1,11 +1,16 @@
 package com.ecommerce.backend.controller;
 
+import com.ecommerce.backend.dto.CouponCodeBatchRequestDTO;
 import com.ecommerce.backend.dto.CouponRequestDTO;
 import com.ecommerce.backend.dto.CouponResponseDTO;
+import com.ecommerce.backend.service.CouponCodeBatchService;
 import com.ecommerce.backend.service.CouponService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,7 +22,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +36,7 @@ import java.util.UUID;
 public class AdminCouponController {
 
     private final CouponService couponService;
+    private final CouponCodeBatchService couponCodeBatchService;
 
     @GetMapping
     public ResponseEntity<List<CouponResponseDTO>> getCoupons() {
@@ -50,6 +58,19 @@ public class AdminCouponController {
         return ResponseEntity.ok(updated);
     }
 
+    @PostMapping("/{id}/codes")
+    public ResponseEntity<StreamingResponseBody> generateCodes(
+            @PathVariable UUID id,
+            @Valid @RequestBody CouponCodeBatchRequestDTO request
+    ) {
+        CouponCodeBatchService.CodeBatch batch = couponCodeBatchService.generateCodes(id, request);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(batch.filename()).build().toString())
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(batch.body());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCoupon(@PathVariable UUID id) {
         couponService.deleteCoupon(id);
@@ -1,13 +1,28 @@
 package com.ecommerce.backend.controller;
 
 import com.ecommerce.backend.dto.AdminDashboardResponseDTO;
+import com.ecommerce.backend.dto.PerformanceReportDTO;
+import com.ecommerce.backend.dto.RevenueTrendResponseDTO;
+import com.ecommerce.backend.exception.InvalidRequestException;
 import com.ecommerce.backend.service.AdminDashboardService;
+import com.ecommerce.backend.service.AdminEventBroadcaster;
+import com.ecommerce.backend.service.BusinessMetricsService;
+import com.ecommerce.backend.service.CustomerStatsService;
+import com.ecommerce.backend.service.SalesRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/admin/dashboard")
@@ -16,10 +31,54 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminDashboardController {
 
     private final AdminDashboardService adminDashboardService;
+    private final SalesRollupService salesRollupService;
+    private final CustomerStatsService customerStatsService;
+    private final AdminEventBroadcaster adminEventBroadcaster;
+    private final BusinessMetricsService businessMetricsService;
 
     @GetMapping("/overview")
     public ResponseEntity<AdminDashboardResponseDTO> getOverview() {
-        return ResponseEntity.ok(adminDashboardService.getDashboardOverview());
+        return ResponseEntity.ok(businessMetricsService.record("dashboard.overview",
+                adminDashboardService::getDashboardOverview));
+    }
+
+    @GetMapping("/performance")
+    public ResponseEntity<PerformanceReportDTO> getPerformance() {
+        return ResponseEntity.ok(businessMetricsService.getReport());
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return adminEventBroadcaster.subscribe();
+    }
+
+    @GetMapping("/revenue-trend")
+    public ResponseEntity<RevenueTrendResponseDTO> getRevenueTrend(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) UUID categoryId) {
+        return ResponseEntity.ok(salesRollupService.getRevenueTrend(days, resolveGranularity(granularity), categoryId));
+    }
+
+    @PostMapping("/sales-rollup/backfill")
+    public ResponseEntity<Void> backfillSalesRollup(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        salesRollupService.backfill(startDate, endDate != null ? endDate : LocalDate.now());
+        return ResponseEntity.noContent().build();
     }
-}
 
+    @PostMapping("/customer-stats/backfill")
+    public ResponseEntity<Void> backfillCustomerStats() {
+        customerStatsService.backfill();
+        return ResponseEntity.noContent().build();
+    }
+
+    private SalesRollupService.TrendGranularity resolveGranularity(String granularity) {
+        try {
+            return SalesRollupService.TrendGranularity.valueOf(granularity.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Đơn vị thời gian thống kê không hợp lệ: " + granularity);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.ecommerce.backend.dto.LoginDTO;
 import com.ecommerce.backend.dto.RegisterDTO;
 import com.ecommerce.backend.dto.UserDTO;
 import com.ecommerce.backend.model.User;
+import com.ecommerce.backend.service.BusinessMetricsService;
 import com.ecommerce.backend.service.JwtService;
 import com.ecommerce.backend.service.UserService;
 import jakarta.validation.Valid;
@@ -23,6 +24,7 @@ public class AuthController {
     
     private final UserService userService;
     private final JwtService jwtService;
+    private final BusinessMetricsService businessMetricsService;
     
     @PostMapping("/register")
     public ResponseEntity<AuthResponseDTO> register(@Valid @RequestBody RegisterDTO registerDTO) {
@@ -38,10 +40,7 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginDTO loginDTO) {
         // Validate user credentials
-        userService.validateUser(loginDTO);
-        
-        // Get user entity after validation
-        User user = userService.getUserEntityByUsernameOrEmail(loginDTO.getUsernameOrEmail());
+        User user = businessMetricsService.record("auth.login", () -> userService.authenticate(loginDTO));
         
         // Generate JWT token
         String token = jwtService.generateToken(user);
@@ -65,5 +64,18 @@ public class AuthController {
         
         return ResponseEntity.ok(userDTO);
     }
+    
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated() || 
+            authentication.getPrincipal().equals("anonymousUser")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        userService.revokeAllTokens(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
 }
 
@@ -1,27 +1,38 @@
 package com.ecommerce.backend.controller;
 
-import com.ecommerce.backend.dto.BannerResponseDTO;
-import com.ecommerce.backend.service.BannerService;
+import com.ecommerce.backend.service.ActiveBannerCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/banners")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "http://localhost:3000")
 public class BannerController {
 
-    private final BannerService bannerService;
+    private final ActiveBannerCache activeBannerCache;
 
-    @GetMapping("/active")
-    public ResponseEntity<List<BannerResponseDTO>> getActiveBanners() {
-        return ResponseEntity.ok(bannerService.getActiveBanners());
+    /**
+     * Returns the pre-serialized JSON list of visible banners (same shape as before).
+     */
+    @GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getActiveBanners(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ActiveBannerCache.Segment banners = activeBannerCache.getActiveBanners();
+        if (banners.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(banners.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(banners.etag())
+                .body(banners.json());
     }
 }
-
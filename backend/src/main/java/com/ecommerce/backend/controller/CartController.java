@@ -1,7 +1,9 @@
 package com.ecommerce.backend.controller;
 
+import com.ecommerce.backend.dto.CartCouponsDTO;
 import com.ecommerce.backend.dto.CartDTO;
 import com.ecommerce.backend.dto.CartItemDTO;
+import com.ecommerce.backend.service.BusinessMetricsService;
 import com.ecommerce.backend.service.CartService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,7 @@ import java.util.UUID;
 public class CartController {
     
     private final CartService cartService;
+    private final BusinessMetricsService businessMetricsService;
     
     @GetMapping("/{userId}")
     public ResponseEntity<CartDTO> getCart(@PathVariable UUID userId) {
@@ -28,7 +31,8 @@ public class CartController {
             @PathVariable UUID userId,
             @RequestParam UUID productId,
             @RequestParam(defaultValue = "1") Integer quantity) {
-        CartItemDTO cartItem = cartService.addToCart(userId, productId, quantity);
+        CartItemDTO cartItem = businessMetricsService.record("cart.add",
+                () -> cartService.addToCart(userId, productId, quantity));
         return ResponseEntity.ok(cartItem);
     }
     
@@ -37,7 +41,8 @@ public class CartController {
             @PathVariable UUID userId,
             @RequestParam UUID productId,
             @RequestParam Integer quantity) {
-        CartItemDTO cartItem = cartService.updateCartItem(userId, productId, quantity);
+        CartItemDTO cartItem = businessMetricsService.record("cart.update",
+                () -> cartService.updateCartItem(userId, productId, quantity));
         return ResponseEntity.ok(cartItem);
     }
     
@@ -45,16 +50,21 @@ public class CartController {
     public ResponseEntity<Void> removeFromCart(
             @PathVariable UUID userId,
             @RequestParam UUID productId) {
-        cartService.removeFromCart(userId, productId);
+        businessMetricsService.record("cart.remove", () -> cartService.removeFromCart(userId, productId));
         return ResponseEntity.noContent().build();
     }
     
     @DeleteMapping("/{userId}/clear")
     public ResponseEntity<Void> clearCart(@PathVariable UUID userId) {
-        cartService.clearCart(userId);
+        businessMetricsService.record("cart.clear", () -> cartService.clearCart(userId));
         return ResponseEntity.noContent().build();
     }
     
+    @GetMapping("/{userId}/coupons")
+    public ResponseEntity<CartCouponsDTO> getApplicableCoupons(@PathVariable UUID userId) {
+        return ResponseEntity.ok(cartService.getApplicableCoupons(userId));
+    }
+    
     @GetMapping("/{userId}/count")
     public ResponseEntity<Long> getCartItemCount(@PathVariable UUID userId) {
         long count = cartService.getCartItemCount(userId);
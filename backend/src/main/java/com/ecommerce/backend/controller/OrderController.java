@@ -1,11 +1,18 @@
 package com.ecommerce.backend.controller;
 
+import com.ecommerce.backend.dto.OrderBulkStatusRequestDTO;
+import com.ecommerce.backend.dto.OrderBulkStatusResponseDTO;
+import com.ecommerce.backend.dto.CursorPageDTO;
 import com.ecommerce.backend.dto.OrderDTO;
+import com.ecommerce.backend.dto.OrderHistoryItemDTO;
+import com.ecommerce.backend.dto.OrderItemDTO;
 import com.ecommerce.backend.dto.OrderRequestDTO;
 import com.ecommerce.backend.dto.OrderSummaryDTO;
 import com.ecommerce.backend.dto.OrderUpdateRequestDTO;
 import com.ecommerce.backend.exception.InvalidRequestException;
 import com.ecommerce.backend.model.Order;
+import com.ecommerce.backend.service.BusinessMetricsService;
+import com.ecommerce.backend.service.OrderExportService;
 import com.ecommerce.backend.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,9 +20,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -28,6 +39,8 @@ import java.util.UUID;
 public class OrderController {
     
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final BusinessMetricsService businessMetricsService;
 
     @GetMapping
     public ResponseEntity<Page<OrderDTO>> getOrders(
@@ -87,12 +100,52 @@ public class OrderController {
         return ResponseEntity.ok(summary);
     }
     
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) UUID customerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+
+        OrderExportService.ExportFormat exportFormat = resolveExportFormat(format);
+        Order.OrderStatus statusEnum = resolveStatus(status);
+        Order.PaymentStatus paymentStatusEnum = resolvePaymentStatus(paymentStatus);
+        LocalDate start = parseDate(startDate);
+        LocalDate end = parseDate(endDate);
+
+        StreamingResponseBody body = orderExportService.exportOrders(
+                exportFormat,
+                keyword,
+                customerId,
+                statusEnum,
+                paymentStatusEnum,
+                start,
+                end);
+
+        String filename = "orders-" + LocalDate.now() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(exportFormat.getMediaType())
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable UUID id) {
         OrderDTO order = orderService.getOrderById(id);
         return ResponseEntity.ok(order);
     }
     
+    @GetMapping("/{id}/items")
+    public ResponseEntity<List<OrderItemDTO>> getOrderItems(@PathVariable UUID id) {
+        List<OrderItemDTO> items = orderService.getOrderItems(id);
+        return ResponseEntity.ok(items);
+    }
+    
     @GetMapping("/number/{orderNumber}")
     public ResponseEntity<OrderDTO> getOrderByOrderNumber(@PathVariable String orderNumber) {
         OrderDTO order = orderService.getOrderByOrderNumber(orderNumber);
@@ -100,9 +153,12 @@ public class OrderController {
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderDTO>> getAllOrdersByUserId(@PathVariable UUID userId) {
-        List<OrderDTO> orders = orderService.getAllOrdersByUserId(userId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<CursorPageDTO<OrderHistoryItemDTO>> getOrderHistory(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDTO<OrderHistoryItemDTO> history = orderService.getOrderHistory(userId, cursor, size);
+        return ResponseEntity.ok(history);
     }
     
     @GetMapping("/user/{userId}/page")
@@ -132,7 +188,9 @@ public class OrderController {
     public ResponseEntity<OrderDTO> createOrder(
             @PathVariable UUID userId,
             @Valid @RequestBody OrderRequestDTO orderRequestDTO) {
-        OrderDTO order = orderService.createOrder(userId, orderRequestDTO);
+        OrderDTO order = businessMetricsService.record("checkout",
+                () -> orderService.createOrder(userId, orderRequestDTO));
+        businessMetricsService.recordOrderPlaced();
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
@@ -153,6 +211,14 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
     
+    @PutMapping("/bulk/status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<OrderBulkStatusResponseDTO> bulkUpdateOrderStatus(
+            @Valid @RequestBody OrderBulkStatusRequestDTO requestDTO) {
+        OrderBulkStatusResponseDTO response = orderService.bulkUpdateOrderStatus(requestDTO);
+        return ResponseEntity.ok(response);
+    }
+    
     @PutMapping("/{id}/payment-status")
     public ResponseEntity<OrderDTO> updatePaymentStatus(
             @PathVariable UUID id,
@@ -184,6 +250,14 @@ public class OrderController {
         }
     }
 
+    private OrderExportService.ExportFormat resolveExportFormat(String format) {
+        try {
+            return OrderExportService.ExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Định dạng xuất dữ liệu không hợp lệ: " + format);
+        }
+    }
+
     private LocalDate parseDate(String value) {
         if (value == null || value.isBlank()) {
             return null;
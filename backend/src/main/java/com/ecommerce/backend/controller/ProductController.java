@@ -4,6 +4,7 @@ import com.ecommerce.backend.dto.ProductDTO;
 import com.ecommerce.backend.dto.ProductRequestDTO;
 import com.ecommerce.backend.exception.InvalidRequestException;
 import com.ecommerce.backend.model.Product;
+import com.ecommerce.backend.service.BusinessMetricsService;
 import com.ecommerce.backend.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ import java.util.UUID;
 public class ProductController {
     
     private final ProductService productService;
+    private final BusinessMetricsService businessMetricsService;
     
     @GetMapping
     public ResponseEntity<Page<ProductDTO>> getAllProducts(
@@ -52,7 +54,11 @@ public class ProductController {
             }
         }
         
-        Page<ProductDTO> products = productService.getProducts(keyword, categoryId, productStatus, lowStock, pageable);
+        Product.ProductStatus statusFilter = productStatus;
+        Page<ProductDTO> products = keyword == null || keyword.isBlank()
+                ? productService.getProducts(keyword, categoryId, statusFilter, lowStock, pageable)
+                : businessMetricsService.record("product.search",
+                        () -> productService.getProducts(keyword, categoryId, statusFilter, lowStock, pageable));
         return ResponseEntity.ok(products);
     }
     
@@ -98,7 +104,8 @@ public class ProductController {
             @RequestParam(defaultValue = "12") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<ProductDTO> products = productService.searchProducts(keyword, pageable);
+        Page<ProductDTO> products = businessMetricsService.record("product.search",
+                () -> productService.searchProducts(keyword, pageable));
         return ResponseEntity.ok(products);
     }
     
@@ -114,9 +121,11 @@ public class ProductController {
         Page<ProductDTO> products;
         
         if (minPrice != null && maxPrice != null) {
-            products = productService.getProductsByPriceRange(minPrice, maxPrice, pageable);
+            products = businessMetricsService.record("product.filter",
+                    () -> productService.getProductsByPriceRange(minPrice, maxPrice, pageable));
         } else if (minRating != null) {
-            products = productService.getProductsByMinRating(minRating, pageable);
+            products = businessMetricsService.record("product.filter",
+                    () -> productService.getProductsByMinRating(minRating, pageable));
         } else {
             products = productService.getAllProducts(pageable);
         }
@@ -1,18 +1,16 @@
 package com.ecommerce.backend.controller;
 
+import com.ecommerce.backend.dto.CursorPageDTO;
+import com.ecommerce.backend.dto.RatingDistributionDTO;
 import com.ecommerce.backend.dto.ReviewDTO;
 import com.ecommerce.backend.dto.ReviewRequestDTO;
 import com.ecommerce.backend.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,22 +22,20 @@ public class ReviewController {
     private final ReviewService reviewService;
     
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<ReviewDTO>> getAllReviewsByProductId(@PathVariable UUID productId) {
-        List<ReviewDTO> reviews = reviewService.getAllReviewsByProductId(productId);
-        return ResponseEntity.ok(reviews);
-    }
-    
-    @GetMapping("/product/{productId}/page")
-    public ResponseEntity<Page<ReviewDTO>> getReviewsByProductId(
+    public ResponseEntity<CursorPageDTO<ReviewDTO>> getReviewsByProductId(
             @PathVariable UUID productId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        
-        Pageable pageable = PageRequest.of(page, size);
-        Page<ReviewDTO> reviews = reviewService.getReviewsByProductId(productId, pageable);
+        CursorPageDTO<ReviewDTO> reviews = reviewService.getReviewPage(productId, cursor, size);
         return ResponseEntity.ok(reviews);
     }
     
+    @GetMapping("/product/{productId}/distribution")
+    public ResponseEntity<RatingDistributionDTO> getRatingDistribution(@PathVariable UUID productId) {
+        RatingDistributionDTO distribution = reviewService.getRatingDistribution(productId);
+        return ResponseEntity.ok(distribution);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ReviewDTO> getReviewById(@PathVariable UUID id) {
         ReviewDTO review = reviewService.getReviewById(id);
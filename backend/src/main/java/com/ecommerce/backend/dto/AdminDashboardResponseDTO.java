@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -16,5 +17,7 @@ public class AdminDashboardResponseDTO {
     private AdminDashboardSummaryDTO summary;
     private List<RevenueTrendPointDTO> revenueTrend;
     private List<RecentOrderDTO> recentOrders;
+    private List<String> staleMetrics;
+    private LocalDateTime refreshedAt;
 }
 
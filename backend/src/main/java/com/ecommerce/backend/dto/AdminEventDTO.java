@@ -0,0 +1,61 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminEventDTO {
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+    public static final String REVENUE_DELTA = "REVENUE_DELTA";
+    public static final String LOW_STOCK = "LOW_STOCK";
+
+    private long id;
+    private String type;
+    private LocalDateTime occurredAt;
+    private Object payload;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OrderStatusChange {
+        private UUID orderId;
+        private Order.OrderStatus previousStatus;
+        private Order.OrderStatus status;
+        private Order.PaymentStatus previousPaymentStatus;
+        private Order.PaymentStatus paymentStatus;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RevenueDelta {
+        private UUID orderId;
+        private BigDecimal delta;
+        private BigDecimal totalRevenue;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LowStockAlert {
+        private UUID productId;
+        private String productName;
+        private String sku;
+        private Integer stockQuantity;
+    }
+}
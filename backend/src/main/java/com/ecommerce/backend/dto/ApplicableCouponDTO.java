@@ -0,0 +1,28 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.Coupon;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicableCouponDTO {
+
+    private UUID id;
+    private String code;
+    private String name;
+    private Coupon.DiscountType discountType;
+    private BigDecimal discountValue;
+    private BigDecimal maxDiscountValue;
+    private BigDecimal minimumOrderValue;
+    private LocalDateTime endAt;
+    private BigDecimal discountAmount;
+}
@@ -1,12 +1,15 @@
 package com.ecommerce.backend.dto;
 
+import com.ecommerce.backend.model.Banner;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
 @Data
@@ -36,5 +39,29 @@ public class BannerResponseDTO {
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
     private OffsetDateTime updatedAt;
+
+    public static BannerResponseDTO from(Banner banner) {
+        return BannerResponseDTO.builder()
+                .id(banner.getId())
+                .title(banner.getTitle())
+                .subtitle(banner.getSubtitle())
+                .description(banner.getDescription())
+                .imageUrl(banner.getImageUrl())
+                .buttonText(banner.getButtonText())
+                .buttonLink(banner.getButtonLink())
+                .displayOrder(banner.getDisplayOrder())
+                .active(Boolean.TRUE.equals(banner.getActive()))
+                .scheduleStart(toOffsetDateTime(banner.getScheduleStart()))
+                .scheduleEnd(toOffsetDateTime(banner.getScheduleEnd()))
+                .createdAt(toOffsetDateTime(banner.getCreatedAt()))
+                .updatedAt(toOffsetDateTime(banner.getUpdatedAt()))
+                .build();
+    }
+
+    private static OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime) {
+        return localDateTime == null
+                ? null
+                : localDateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
 }
 
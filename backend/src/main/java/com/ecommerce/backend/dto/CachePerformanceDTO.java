@@ -0,0 +1,16 @@
+package com.ecommerce.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachePerformanceDTO {
+
+    private String cache;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+}
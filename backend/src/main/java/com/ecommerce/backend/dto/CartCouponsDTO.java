@@ -0,0 +1,23 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.Coupon;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartCouponsDTO {
+
+    private BigDecimal cartTotal;
+    private Coupon.CustomerSegment segment;
+    private List<ApplicableCouponDTO> coupons;
+    private ApplicableCouponDTO bestCoupon;
+    private BigDecimal bestDiscount;
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponCodeBatchRequestDTO {
+
+    @NotNull(message = "Số lượng mã không được để trống")
+    @Min(value = 1, message = "Số lượng mã phải lớn hơn 0")
+    private Integer count;
+
+    @Min(value = 6, message = "Độ dài mã tối thiểu là 6 ký tự")
+    @Max(value = 32, message = "Độ dài mã tối đa là 32 ký tự")
+    private Integer length;
+
+    @Pattern(regexp = "^[A-Za-z0-9-]{0,12}$", message = "Tiền tố chỉ gồm chữ, số, dấu gạch ngang và tối đa 12 ký tự")
+    private String prefix;
+}
@@ -30,6 +30,7 @@ public class CouponResponseDTO {
     private Integer usageCount;
     private Boolean active;
     private Coupon.CustomerSegment segment;
+    private Boolean codeRequired;
     private String status;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
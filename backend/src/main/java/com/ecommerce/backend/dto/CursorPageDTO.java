@@ -0,0 +1,31 @@
+package com.ecommerce.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}; the extra row only signals that more exist.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorExtractor) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? List.copyOf(rows.subList(0, pageSize)) : rows;
+        String nextCursor = hasMore && !items.isEmpty()
+                ? cursorExtractor.apply(items.get(items.size() - 1)).encode()
+                : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore, items.size());
+    }
+}
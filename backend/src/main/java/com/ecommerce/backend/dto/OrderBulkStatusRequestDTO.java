@@ -0,0 +1,25 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkStatusRequestDTO {
+
+    @NotEmpty(message = "Danh sách đơn hàng không được để trống")
+    @Size(max = 1000, message = "Mỗi lần chỉ được cập nhật tối đa 1000 đơn hàng")
+    private List<UUID> orderIds;
+
+    @NotNull(message = "Trạng thái đơn hàng không được để trống")
+    private Order.OrderStatus status;
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderBulkStatusResponseDTO {
+
+    private Order.OrderStatus targetStatus;
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<OrderBulkStatusResultDTO> results;
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderBulkStatusResultDTO {
+
+    private UUID orderId;
+    private boolean success;
+    private Order.OrderStatus previousStatus;
+    private Order.OrderStatus status;
+    private String message;
+}
@@ -22,6 +22,8 @@ public class OrderDTO {
     private String username;
     private String orderNumber;
     private BigDecimal totalAmount;
+    private String couponCode;
+    private BigDecimal discountAmount;
     private String shippingAddress;
     private String shippingPhone;
     private String shippingName;
@@ -45,6 +47,8 @@ public class OrderDTO {
         
         this.orderNumber = order.getOrderNumber();
         this.totalAmount = order.getTotalAmount();
+        this.couponCode = order.getCouponCode();
+        this.discountAmount = order.getDiscountAmount();
         this.shippingAddress = order.getShippingAddress();
         this.shippingPhone = order.getShippingPhone();
         this.shippingName = order.getShippingName();
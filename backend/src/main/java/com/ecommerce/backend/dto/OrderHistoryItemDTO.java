@@ -0,0 +1,24 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryItemDTO {
+
+    private UUID id;
+    private String orderNumber;
+    private BigDecimal totalAmount;
+    private Order.OrderStatus status;
+    private Order.PaymentStatus paymentStatus;
+    private Integer itemCount;
+    private LocalDateTime createdAt;
+}
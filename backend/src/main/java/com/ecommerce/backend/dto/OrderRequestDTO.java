@@ -28,6 +28,8 @@ public class OrderRequestDTO {
     
     private String notes;
     
+    private String couponCode;
+    
     @NotNull(message = "Cart items are required")
     private List<UUID> cartItemIds;
 }
@@ -0,0 +1,21 @@
+package com.ecommerce.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderThroughputDTO {
+
+    private long currentMinute;
+    private long lastMinute;
+    private double perMinuteLast5;
+    private double perMinuteLastHour;
+    // Newest first; index 0 is the minute in progress
+    private List<Long> perMinute;
+    private long totalSinceStart;
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PerformanceReportDTO {
+
+    private List<OperationLatencyDTO> operations;
+    private List<CachePerformanceDTO> caches;
+    private Map<String, Long> stockConflicts;
+    private OrderThroughputDTO orderThroughput;
+    private LocalDateTime generatedAt;
+}
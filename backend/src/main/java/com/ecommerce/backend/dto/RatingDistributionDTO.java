@@ -0,0 +1,23 @@
+package com.ecommerce.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingDistributionDTO {
+
+    private UUID productId;
+    private BigDecimal averageRating;
+    private long totalReviews;
+    // star (5..1) -> number of approved reviews
+    private Map<Integer, Long> distribution;
+}
@@ -17,5 +17,6 @@ public class RevenueTrendPointDTO {
     private LocalDate date;
     private BigDecimal revenue;
     private long orderCount;
+    private long itemCount;
 }
 
@@ -0,0 +1,28 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.service.SalesRollupService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueTrendResponseDTO {
+
+    private SalesRollupService.TrendGranularity granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private UUID categoryId;
+    private BigDecimal totalRevenue;
+    private long totalOrders;
+    private long totalItems;
+    private List<RevenueTrendPointDTO> points;
+}
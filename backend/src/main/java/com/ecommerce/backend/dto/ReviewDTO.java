@@ -35,11 +35,16 @@ public class ReviewDTO {
     
     // Constructor to convert from Entity
     public ReviewDTO(Review review) {
+        this(review, review.getUser().getUsername(), review.getProduct().getName());
+    }
+    
+    // Constructor for list pages: names are fetched in batch, so the lazy user/product are never initialized
+    public ReviewDTO(Review review, String username, String productName) {
         this.id = review.getId();
         this.userId = review.getUser().getId();
-        this.username = review.getUser().getUsername();
+        this.username = username;
         this.productId = review.getProduct().getId();
-        this.productName = review.getProduct().getName();
+        this.productName = productName;
         
         if (review.getOrder() != null) {
             this.orderId = review.getOrder().getId();
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,6 +18,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
+@NaturalIdCache
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +31,7 @@ public class Category {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
     
+    @NaturalId(mutable = true)
     @Column(name = "name", unique = true, nullable = false, length = 100)
     private String name;
     
@@ -41,6 +49,7 @@ public class Category {
     private Integer displayOrder = 0;
     
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category-children")
     @OrderBy("displayOrder ASC, name ASC")
     private List<Category> subCategories = new ArrayList<>();
     
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -13,6 +17,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "coupons")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "coupons")
+@NaturalIdCache
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +30,7 @@ public class Coupon {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
+    @NaturalId(mutable = true)
     @Column(name = "code", nullable = false, unique = true, length = 50)
     private String code;
 
@@ -61,6 +69,13 @@ public class Coupon {
     @Column(name = "segment", nullable = false, length = 50)
     private CustomerSegment segment = CustomerSegment.ALL;
 
+    /**
+     * Set once single-use codes are generated for this coupon: it can then only be redeemed through one of
+     * its coupon_codes, never by its own code, and is not offered in cart suggestions.
+     */
+    @Column(name = "code_required", nullable = false, columnDefinition = "boolean default false")
+    private Boolean codeRequired = false;
+
     @Column(name = "start_at")
     private LocalDateTime startAt;
 
@@ -80,6 +95,9 @@ public class Coupon {
         if (usageCount == null) {
             usageCount = 0;
         }
+        if (codeRequired == null) {
+            codeRequired = false;
+        }
         if (active == null) {
             active = true;
         }
@@ -93,6 +111,9 @@ public class Coupon {
         if (usageCount == null) {
             usageCount = 0;
         }
+        if (codeRequired == null) {
+            codeRequired = false;
+        }
         if (active == null) {
             active = true;
         }
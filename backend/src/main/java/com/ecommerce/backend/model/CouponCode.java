@@ -0,0 +1,42 @@
+package com.ecommerce.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A single-use code generated for a coupon campaign. Rows are bulk-inserted by CouponCodeBatchService and
+ * claimed by CouponRedemptionService; the code is stored upper-case.
+ */
+@Entity
+@Table(name = "coupon_codes", indexes = {
+    @Index(name = "idx_coupon_codes_coupon", columnList = "coupon_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponCode {
+
+    @Id
+    @Column(name = "code", length = 50, nullable = false)
+    private String code;
+
+    @Column(name = "coupon_id", nullable = false)
+    private UUID couponId;
+
+    @Column(name = "redeemed_by")
+    private UUID redeemedBy;
+
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(name = "redeemed_at")
+    private LocalDateTime redeemedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ledger of coupon redemptions, one row per order. The status guards refunds so a cancelled order
+ * gives its usage back exactly once.
+ */
+@Entity
+@Table(name = "coupon_redemptions", indexes = {
+    @Index(name = "idx_coupon_redemptions_coupon", columnList = "coupon_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemption {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "coupon_id", nullable = false)
+    private UUID couponId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "order_id", nullable = false, unique = true)
+    private UUID orderId;
+
+    /**
+     * The single-use coupon_codes row that was claimed, if any; released again on refund.
+     */
+    @Column(name = "coupon_code", length = 50)
+    private String couponCode;
+
+    @Column(name = "discount_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private RedemptionStatus status = RedemptionStatus.REDEEMED;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "refunded_at")
+    private LocalDateTime refundedAt;
+
+    public enum RedemptionStatus {
+        REDEEMED, REFUNDED
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One slice of a coupon's global usage budget. Redemptions increment a single shard so concurrent checkouts
+ * of a popular coupon contend on different rows; the sum of {@code used} over all shards is the real usage.
+ * A {@code null} capacity means the coupon has no global limit.
+ */
+@Entity
+@Table(name = "coupon_usage_shards")
+@IdClass(CouponUsageShard.ShardId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponUsageShard {
+
+    @Id
+    @Column(name = "coupon_id", nullable = false)
+    private UUID couponId;
+
+    @Id
+    @Column(name = "shard_no", nullable = false)
+    private Integer shardNo;
+
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    @Column(name = "used", nullable = false)
+    private Integer used = 0;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ShardId implements Serializable {
+        private UUID couponId;
+        private Integer shardNo;
+    }
+}
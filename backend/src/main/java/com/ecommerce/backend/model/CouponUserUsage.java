@@ -0,0 +1,41 @@
+package com.ecommerce.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * How many times a user currently holds a redemption of a coupon; enforces {@link Coupon#getPerUserLimit()}.
+ * Rows are written with native upserts by CouponRedemptionService.
+ */
+@Entity
+@Table(name = "coupon_user_usage")
+@IdClass(CouponUserUsage.UsageId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponUserUsage {
+
+    @Id
+    @Column(name = "coupon_id", nullable = false)
+    private UUID couponId;
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "used", nullable = false)
+    private Integer used = 0;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UsageId implements Serializable {
+        private UUID couponId;
+        private UUID userId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.backend.model;
+
+import com.ecommerce.backend.model.Coupon.CustomerSegment;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lifetime order stats per customer, maintained with delta upserts as orders are placed, paid, cancelled or refunded.
+ * {@code orderCount} excludes cancelled orders, {@code lifetimeSpend} sums paid orders, and the first/last order
+ * times cover every order placed.
+ */
+@Entity
+@Table(name = "customer_stats", indexes = {
+    @Index(name = "idx_customer_stats_segment", columnList = "segment")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerStats {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "lifetime_spend", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lifetimeSpend = BigDecimal.ZERO;
+
+    @Column(name = "first_order_at")
+    private LocalDateTime firstOrderAt;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "segment", nullable = false, length = 20)
+    private CustomerSegment segment = CustomerSegment.NEW_CUSTOMER;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Paid sales per day, once for the whole shop (category_id = {@link #ALL_CATEGORIES}) and once per category.
+ * Rows are written with native upserts by SalesRollupService; the entity is only read.
+ */
+@Entity
+@Table(name = "daily_sales_rollup")
+@IdClass(DailySalesRollup.RollupId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesRollup {
+
+    public static final UUID ALL_CATEGORIES = new UUID(0L, 0L);
+
+    @Id
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "item_count", nullable = false)
+    private Long itemCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollupId implements Serializable {
+        private LocalDate salesDate;
+        private UUID categoryId;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running aggregate of approved review ratings per product, maintained with delta upserts.
+ */
+@Entity
+@Table(name = "product_rating_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingStats {
+
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(name = "star_1_count", nullable = false)
+    private Long star1Count = 0L;
+
+    @Column(name = "star_2_count", nullable = false)
+    private Long star2Count = 0L;
+
+    @Column(name = "star_3_count", nullable = false)
+    private Long star3Count = 0L;
+
+    @Column(name = "star_4_count", nullable = false)
+    private Long star4Count = 0L;
+
+    @Column(name = "star_5_count", nullable = false)
+    private Long star5Count = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -13,6 +13,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "reviews", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "product_id", "order_id"})
+}, indexes = {
+    @Index(name = "idx_reviews_product_status_created", columnList = "product_id, status, created_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +16,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +29,7 @@ public class User {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
     
+    @NaturalId
     @Column(name = "username", unique = true, nullable = false, length = 50)
     private String username;
     
@@ -47,6 +55,15 @@ public class User {
     @Column(name = "enabled", nullable = false)
     private Boolean enabled = true;
     
+    /**
+     * Embedded in issued JWTs; bumping it invalidates every token issued before.
+     */
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private Integer tokenVersion = 0;
+
+    // Role as loaded, to detect role changes on update; transient keeps it out of the mapping and equals
+    private transient UserRole loadedRole;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -55,6 +72,22 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @PostLoad
+    void rememberLoadedRole() {
+        loadedRole = role;
+    }
+
+    /**
+     * Tokens carry the role as a claim, so a role change must invalidate the tokens issued before it.
+     */
+    @PreUpdate
+    void bumpTokenVersionOnRoleChange() {
+        if (loadedRole != null && loadedRole != role) {
+            tokenVersion = (tokenVersion != null ? tokenVersion : 0) + 1;
+            loadedRole = role;
+        }
+    }
+
     public enum UserRole {
         USER, ADMIN
     }
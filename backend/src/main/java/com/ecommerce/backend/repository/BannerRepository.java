@@ -16,13 +16,15 @@ public interface BannerRepository extends JpaRepository<Banner, UUID> {
 
     long countByActiveTrue();
 
+    /**
+     * Enabled banners that have not ended yet, in display order; ActiveBannerCache slices them by schedule.
+     */
     @Query("""
             SELECT b FROM Banner b
             WHERE b.active = true
-              AND (b.scheduleStart IS NULL OR b.scheduleStart <= :now)
               AND (b.scheduleEnd IS NULL OR b.scheduleEnd >= :now)
             ORDER BY b.displayOrder ASC, b.createdAt DESC
             """)
-    List<Banner> findActiveBanners(LocalDateTime now);
+    List<Banner> findEnabledBannersNotEndedBefore(LocalDateTime now);
 }
 
@@ -2,8 +2,11 @@ package com.ecommerce.backend.repository;
 
 import com.ecommerce.backend.model.Category;
 import com.ecommerce.backend.repository.projection.CategoryProductCountProjection;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +14,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, UUID> {
+public interface CategoryRepository extends NaturalIdRepository<Category, UUID> {
     
     Optional<Category> findByName(String name);
     
@@ -47,5 +50,17 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
            "FROM Category c LEFT JOIN c.products p " +
            "GROUP BY c.id")
     List<CategoryProductCountProjection> findCategoryProductCounts();
+    
+    /**
+     * Renumbers display_order to 0..n-1 within every sibling group, keeping the current order (ties by name).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Query(value = "UPDATE categories c SET display_order = ranked.position " +
+           "FROM (SELECT id, CAST(ROW_NUMBER() OVER (PARTITION BY parent_id ORDER BY display_order, name) - 1 AS INTEGER) AS position " +
+           "FROM categories) ranked " +
+           "WHERE c.id = ranked.id AND c.display_order <> ranked.position",
+           nativeQuery = true)
+    int normalizeAllDisplayOrders();
 }
 
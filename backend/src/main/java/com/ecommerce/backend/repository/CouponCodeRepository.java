@@ -0,0 +1,45 @@
+package com.ecommerce.backend.repository;
+
+import com.ecommerce.backend.model.CouponCode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface CouponCodeRepository extends JpaRepository<CouponCode, String> {
+
+    /**
+     * Claims the code for an order; returns 0 when it was already used.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_codes"))
+    @Query(value = "UPDATE coupon_codes SET redeemed_by = :userId, order_id = :orderId, redeemed_at = :redeemedAt " +
+            "WHERE code = :code AND redeemed_at IS NULL",
+            nativeQuery = true)
+    int claim(
+            @Param("code") String code,
+            @Param("userId") UUID userId,
+            @Param("orderId") UUID orderId,
+            @Param("redeemedAt") LocalDateTime redeemedAt
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_codes"))
+    @Query(value = "UPDATE coupon_codes SET redeemed_by = NULL, order_id = NULL, redeemed_at = NULL " +
+            "WHERE code = :code AND order_id = :orderId",
+            nativeQuery = true)
+    int release(@Param("code") String code, @Param("orderId") UUID orderId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_codes"))
+    @Query(value = "DELETE FROM coupon_codes WHERE coupon_id = :couponId", nativeQuery = true)
+    int deleteByCouponId(@Param("couponId") UUID couponId);
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.backend.repository;
+
+import com.ecommerce.backend.model.CouponRedemption;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CouponRedemptionRepository extends JpaRepository<CouponRedemption, UUID> {
+
+    /**
+     * Locks the still-redeemed rows of the given orders so concurrent cancellations refund each of them once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM CouponRedemption r WHERE r.orderId IN :orderIds AND r.status = 'REDEEMED'")
+    List<CouponRedemption> findRedeemedByOrderIdInForUpdate(@Param("orderIds") Collection<UUID> orderIds);
+}
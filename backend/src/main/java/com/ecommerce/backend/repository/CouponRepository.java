@@ -1,15 +1,20 @@
 package com.ecommerce.backend.repository;
 
 import com.ecommerce.backend.model.Coupon;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CouponRepository extends JpaRepository<Coupon, UUID> {
+public interface CouponRepository extends NaturalIdRepository<Coupon, UUID> {
 
     Optional<Coupon> findByCodeIgnoreCase(String code);
 
@@ -18,5 +23,18 @@ public interface CouponRepository extends JpaRepository<Coupon, UUID> {
     boolean existsByCodeIgnoreCaseAndIdNot(String code, UUID id);
 
     long countByActiveTrue();
+
+    List<Coupon> findByActiveTrue();
+
+    /**
+     * Copies the summed shard usage onto coupons.usage_count, touching only coupons whose count drifted.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupons"))
+    @Query(value = "UPDATE coupons c SET usage_count = s.used " +
+            "FROM (SELECT coupon_id, CAST(SUM(used) AS INT) AS used FROM coupon_usage_shards GROUP BY coupon_id) s " +
+            "WHERE c.id = s.coupon_id AND c.usage_count <> s.used",
+            nativeQuery = true)
+    int syncUsageCountsFromShards();
 }
 
@@ -0,0 +1,102 @@
+package com.ecommerce.backend.repository;
+
+import com.ecommerce.backend.model.CouponUsageShard;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CouponUsageShardRepository extends JpaRepository<CouponUsageShard, CouponUsageShard.ShardId> {
+
+    boolean existsByCouponId(UUID couponId);
+
+    /**
+     * Takes one use from a random shard that still has room, skipping shards another checkout holds.
+     * Returns 0 when every free shard is locked or none has room left.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_usage_shards"))
+    @Query(value = "UPDATE coupon_usage_shards SET used = used + 1 " +
+            "WHERE coupon_id = :couponId AND shard_no = (" +
+            "SELECT s.shard_no FROM coupon_usage_shards s " +
+            "WHERE s.coupon_id = :couponId AND (s.capacity IS NULL OR s.used < s.capacity) " +
+            "ORDER BY random() LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "AND (capacity IS NULL OR used < capacity)",
+            nativeQuery = true)
+    int tryIncrementFreeShard(@Param("couponId") UUID couponId);
+
+    /**
+     * Blocking fallback for {@link #tryIncrementFreeShard(UUID)}: waits for every shard that has room, in shard
+     * order, and returns those that still have room once locked. Empty really means the coupon is used up.
+     */
+    @Query(value = "SELECT shard_no FROM coupon_usage_shards " +
+            "WHERE coupon_id = :couponId AND (capacity IS NULL OR used < capacity) " +
+            "ORDER BY shard_no FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lockShardsWithRoom(@Param("couponId") UUID couponId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_usage_shards"))
+    @Query(value = "UPDATE coupon_usage_shards SET used = used + 1 " +
+            "WHERE coupon_id = :couponId AND shard_no = :shardNo AND (capacity IS NULL OR used < capacity)",
+            nativeQuery = true)
+    int incrementShard(@Param("couponId") UUID couponId, @Param("shardNo") int shardNo);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_usage_shards"))
+    @Query(value = "UPDATE coupon_usage_shards SET used = used - 1 " +
+            "WHERE coupon_id = :couponId AND shard_no = (" +
+            "SELECT s.shard_no FROM coupon_usage_shards s " +
+            "WHERE s.coupon_id = :couponId AND s.used > 0 " +
+            "ORDER BY random() LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "AND used > 0",
+            nativeQuery = true)
+    int tryDecrementFreeShard(@Param("couponId") UUID couponId);
+
+    @Query(value = "SELECT shard_no FROM coupon_usage_shards " +
+            "WHERE coupon_id = :couponId AND used > 0 " +
+            "ORDER BY shard_no FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lockShardsInUse(@Param("couponId") UUID couponId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_usage_shards"))
+    @Query(value = "UPDATE coupon_usage_shards SET used = used - 1 " +
+            "WHERE coupon_id = :couponId AND shard_no = :shardNo AND used > 0",
+            nativeQuery = true)
+    int decrementShard(@Param("couponId") UUID couponId, @Param("shardNo") int shardNo);
+
+    /**
+     * Creates the shard rows for a coupon that has none yet; concurrent callers insert the same rows, so the
+     * loser's inserts are simply ignored.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_usage_shards"))
+    @Query(value = "INSERT INTO coupon_usage_shards (coupon_id, shard_no, capacity, used) " +
+            "VALUES (:couponId, :shardNo, :capacity, :used) " +
+            "ON CONFLICT (coupon_id, shard_no) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(
+            @Param("couponId") UUID couponId,
+            @Param("shardNo") int shardNo,
+            @Param("capacity") Integer capacity,
+            @Param("used") int used
+    );
+
+    @Query(value = "SELECT * FROM coupon_usage_shards WHERE coupon_id = :couponId ORDER BY shard_no FOR UPDATE",
+            nativeQuery = true)
+    List<CouponUsageShard> findByCouponIdForUpdate(@Param("couponId") UUID couponId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_usage_shards"))
+    @Query(value = "DELETE FROM coupon_usage_shards WHERE coupon_id = :couponId", nativeQuery = true)
+    int deleteByCouponId(@Param("couponId") UUID couponId);
+}
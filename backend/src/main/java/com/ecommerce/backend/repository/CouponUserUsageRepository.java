@@ -0,0 +1,44 @@
+package com.ecommerce.backend.repository;
+
+import com.ecommerce.backend.model.CouponUserUsage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface CouponUserUsageRepository extends JpaRepository<CouponUserUsage, CouponUserUsage.UsageId> {
+
+    /**
+     * Takes one use for the user when still under the limit; returns 0 when the limit is already reached.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_user_usage"))
+    @Query(value = "INSERT INTO coupon_user_usage (coupon_id, user_id, used) VALUES (:couponId, :userId, 1) " +
+            "ON CONFLICT (coupon_id, user_id) DO UPDATE SET used = coupon_user_usage.used + 1 " +
+            "WHERE coupon_user_usage.used < :perUserLimit",
+            nativeQuery = true)
+    int tryIncrement(
+            @Param("couponId") UUID couponId,
+            @Param("userId") UUID userId,
+            @Param("perUserLimit") int perUserLimit
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_user_usage"))
+    @Query(value = "UPDATE coupon_user_usage SET used = used - 1 " +
+            "WHERE coupon_id = :couponId AND user_id = :userId AND used > 0",
+            nativeQuery = true)
+    int decrement(@Param("couponId") UUID couponId, @Param("userId") UUID userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "coupon_user_usage"))
+    @Query(value = "DELETE FROM coupon_user_usage WHERE coupon_id = :couponId", nativeQuery = true)
+    int deleteByCouponId(@Param("couponId") UUID couponId);
+}
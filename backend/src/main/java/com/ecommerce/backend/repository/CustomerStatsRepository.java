@@ -0,0 +1,119 @@
+package com.ecommerce.backend.repository;
+
+import com.ecommerce.backend.model.Coupon.CustomerSegment;
+import com.ecommerce.backend.model.CustomerStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CustomerStatsRepository extends JpaRepository<CustomerStats, UUID> {
+
+    @Query("SELECT s.segment FROM CustomerStats s WHERE s.userId = :userId")
+    Optional<CustomerSegment> findSegmentByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Adds the given orders to their customers' stats: {@code countSign} (-1, 0 or 1) per order to the order count
+     * and {@code spendSign} times each order total to the lifetime spend, never going below zero. A customer without
+     * a row gets one, but a removal does not date it. Takes the customer's slice lock in shared mode first, so it
+     * waits for a backfill of that slice instead of being overwritten by it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_stats"))
+    @Query(value = "WITH deltas AS (" +
+            "SELECT o.user_id, COUNT(*) * :countSign AS order_delta, SUM(o.total_amount) * :spendSign AS spend_delta, " +
+            "MIN(o.created_at) AS first_order_at, MAX(o.created_at) AS last_order_at " +
+            "FROM orders o " +
+            "CROSS JOIN LATERAL (SELECT pg_advisory_xact_lock_shared(:lockClass, " +
+            "(hashtext(CAST(o.user_id AS text)) & 2147483647) % :slices)) slice_lock " +
+            "WHERE o.id IN (:orderIds) AND o.user_id IS NOT NULL " +
+            "GROUP BY o.user_id) " +
+            "INSERT INTO customer_stats (user_id, order_count, lifetime_spend, first_order_at, last_order_at, segment, updated_at) " +
+            "SELECT d.user_id, GREATEST(d.order_delta, 0), GREATEST(d.spend_delta, 0), " +
+            "CASE WHEN d.order_delta >= 0 THEN d.first_order_at END, CASE WHEN d.order_delta >= 0 THEN d.last_order_at END, " +
+            "CASE WHEN d.order_delta <= 0 THEN 'NEW_CUSTOMER' " +
+            "WHEN d.spend_delta >= :vipThreshold THEN 'VIP_CUSTOMER' " +
+            "ELSE 'RETURNING_CUSTOMER' END, CURRENT_TIMESTAMP " +
+            "FROM deltas d " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "order_count = GREATEST(customer_stats.order_count + " +
+            "(SELECT d.order_delta FROM deltas d WHERE d.user_id = EXCLUDED.user_id), 0), " +
+            "lifetime_spend = GREATEST(customer_stats.lifetime_spend + " +
+            "(SELECT d.spend_delta FROM deltas d WHERE d.user_id = EXCLUDED.user_id), 0), " +
+            "first_order_at = LEAST(customer_stats.first_order_at, " +
+            "(SELECT d.first_order_at FROM deltas d WHERE d.user_id = EXCLUDED.user_id)), " +
+            "last_order_at = GREATEST(customer_stats.last_order_at, " +
+            "(SELECT d.last_order_at FROM deltas d WHERE d.user_id = EXCLUDED.user_id)), " +
+            "segment = CASE WHEN customer_stats.order_count + " +
+            "(SELECT d.order_delta FROM deltas d WHERE d.user_id = EXCLUDED.user_id) <= 0 THEN 'NEW_CUSTOMER' " +
+            "WHEN customer_stats.lifetime_spend + " +
+            "(SELECT d.spend_delta FROM deltas d WHERE d.user_id = EXCLUDED.user_id) >= :vipThreshold THEN 'VIP_CUSTOMER' " +
+            "ELSE 'RETURNING_CUSTOMER' END, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int applyOrders(
+            @Param("orderIds") Collection<UUID> orderIds,
+            @Param("countSign") int countSign,
+            @Param("spendSign") int spendSign,
+            @Param("vipThreshold") BigDecimal vipThreshold,
+            @Param("lockClass") int lockClass,
+            @Param("slices") int slices
+    );
+
+    /**
+     * Recomputes the stats of every customer in one hash slice from their orders.
+     * The caller holds the slice lock exclusively, so no incremental update of the slice runs meanwhile.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_stats"))
+    @Query(value = "INSERT INTO customer_stats (user_id, order_count, lifetime_spend, first_order_at, last_order_at, segment, updated_at) " +
+            "SELECT s.user_id, s.order_count, s.lifetime_spend, s.first_order_at, s.last_order_at, " +
+            "CASE WHEN s.order_count = 0 THEN 'NEW_CUSTOMER' " +
+            "WHEN s.lifetime_spend >= :vipThreshold THEN 'VIP_CUSTOMER' " +
+            "ELSE 'RETURNING_CUSTOMER' END, CURRENT_TIMESTAMP " +
+            "FROM (SELECT o.user_id, " +
+            "COUNT(*) FILTER (WHERE o.status <> :cancelledStatus) AS order_count, " +
+            "COALESCE(SUM(o.total_amount) FILTER (WHERE o.payment_status = :paidStatus), 0) AS lifetime_spend, " +
+            "MIN(o.created_at) AS first_order_at, MAX(o.created_at) AS last_order_at " +
+            "FROM orders o " +
+            "WHERE o.user_id IS NOT NULL AND (hashtext(CAST(o.user_id AS text)) & 2147483647) % :slices = :slice " +
+            "GROUP BY o.user_id) s " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "order_count = EXCLUDED.order_count, " +
+            "lifetime_spend = EXCLUDED.lifetime_spend, " +
+            "first_order_at = EXCLUDED.first_order_at, " +
+            "last_order_at = EXCLUDED.last_order_at, " +
+            "segment = EXCLUDED.segment, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int rebuildSlice(
+            @Param("slice") int slice,
+            @Param("slices") int slices,
+            @Param("cancelledStatus") String cancelledStatus,
+            @Param("paidStatus") String paidStatus,
+            @Param("vipThreshold") BigDecimal vipThreshold
+    );
+
+    /**
+     * Re-derives stored segments, e.g. after the VIP threshold changed; only rows whose segment differs are written.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_stats"))
+    @Query(value = "UPDATE customer_stats SET segment = derived.segment, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (SELECT user_id, CASE WHEN order_count <= 0 THEN 'NEW_CUSTOMER' " +
+            "WHEN lifetime_spend >= :vipThreshold THEN 'VIP_CUSTOMER' " +
+            "ELSE 'RETURNING_CUSTOMER' END AS segment FROM customer_stats) derived " +
+            "WHERE customer_stats.user_id = derived.user_id AND customer_stats.segment <> derived.segment",
+            nativeQuery = true)
+    int refreshSegments(@Param("vipThreshold") BigDecimal vipThreshold);
+}
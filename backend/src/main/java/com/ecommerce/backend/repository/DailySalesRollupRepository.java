@@ -0,0 +1,117 @@
+package com.ecommerce.backend.repository;
+
+import com.ecommerce.backend.model.DailySalesRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, DailySalesRollup.RollupId> {
+
+    List<DailySalesRollup> findByCategoryIdAndSalesDateBetweenOrderBySalesDateAsc(
+            UUID categoryId,
+            LocalDate startDate,
+            LocalDate endDate
+    );
+
+    /**
+     * Adds (sign = 1) or removes (sign = -1) one order from the shop-wide row of its day.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_rollup"))
+    @Query(value = "INSERT INTO daily_sales_rollup (sales_date, category_id, revenue, order_count, item_count, updated_at) " +
+            "SELECT CAST(o.created_at AS DATE), :allCategories, o.total_amount * :sign, :sign, " +
+            "COALESCE((SELECT SUM(oi.quantity) FROM order_items oi WHERE oi.order_id = o.id), 0) * :sign, CURRENT_TIMESTAMP " +
+            "FROM orders o WHERE o.id = :orderId " +
+            "ON CONFLICT (sales_date, category_id) DO UPDATE SET " +
+            "revenue = daily_sales_rollup.revenue + EXCLUDED.revenue, " +
+            "order_count = daily_sales_rollup.order_count + EXCLUDED.order_count, " +
+            "item_count = daily_sales_rollup.item_count + EXCLUDED.item_count, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int applyOrderTotal(
+            @Param("orderId") UUID orderId,
+            @Param("allCategories") UUID allCategories,
+            @Param("sign") int sign
+    );
+
+    /**
+     * Adds (sign = 1) or removes (sign = -1) one order from the per-category rows of its day.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_rollup"))
+    @Query(value = "INSERT INTO daily_sales_rollup (sales_date, category_id, revenue, order_count, item_count, updated_at) " +
+            "SELECT CAST(o.created_at AS DATE), p.category_id, SUM(oi.subtotal) * :sign, :sign, SUM(oi.quantity) * :sign, CURRENT_TIMESTAMP " +
+            "FROM orders o " +
+            "JOIN order_items oi ON oi.order_id = o.id " +
+            "JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.id = :orderId AND p.category_id IS NOT NULL " +
+            "GROUP BY CAST(o.created_at AS DATE), p.category_id " +
+            "ON CONFLICT (sales_date, category_id) DO UPDATE SET " +
+            "revenue = daily_sales_rollup.revenue + EXCLUDED.revenue, " +
+            "order_count = daily_sales_rollup.order_count + EXCLUDED.order_count, " +
+            "item_count = daily_sales_rollup.item_count + EXCLUDED.item_count, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int applyOrderCategories(@Param("orderId") UUID orderId, @Param("sign") int sign);
+
+    /**
+     * Blocks concurrent incremental upserts while a date range is rebuilt, so none is lost or counted twice.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_rollup"))
+    @Query(value = "LOCK TABLE daily_sales_rollup IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_rollup"))
+    @Query(value = "DELETE FROM daily_sales_rollup WHERE sales_date >= :startDate AND sales_date < :endDate", nativeQuery = true)
+    int deleteRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_rollup"))
+    @Query(value = "INSERT INTO daily_sales_rollup (sales_date, category_id, revenue, order_count, item_count, updated_at) " +
+            "SELECT CAST(o.created_at AS DATE), :allCategories, SUM(o.total_amount), COUNT(*), " +
+            "COALESCE(SUM(items.quantity), 0), CURRENT_TIMESTAMP " +
+            "FROM orders o " +
+            "LEFT JOIN LATERAL (SELECT SUM(oi.quantity) AS quantity FROM order_items oi WHERE oi.order_id = o.id) items ON TRUE " +
+            "WHERE o.payment_status = :paymentStatus AND o.created_at >= :startTime AND o.created_at < :endTime " +
+            "GROUP BY CAST(o.created_at AS DATE)",
+            nativeQuery = true)
+    int insertTotalsForRange(
+            @Param("allCategories") UUID allCategories,
+            @Param("paymentStatus") String paymentStatus,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_rollup"))
+    @Query(value = "INSERT INTO daily_sales_rollup (sales_date, category_id, revenue, order_count, item_count, updated_at) " +
+            "SELECT CAST(o.created_at AS DATE), p.category_id, SUM(oi.subtotal), COUNT(DISTINCT o.id), SUM(oi.quantity), CURRENT_TIMESTAMP " +
+            "FROM orders o " +
+            "JOIN order_items oi ON oi.order_id = o.id " +
+            "JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.payment_status = :paymentStatus AND o.created_at >= :startTime AND o.created_at < :endTime " +
+            "AND p.category_id IS NOT NULL " +
+            "GROUP BY CAST(o.created_at AS DATE), p.category_id",
+            nativeQuery = true)
+    int insertCategoriesForRange(
+            @Param("paymentStatus") String paymentStatus,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    @Query(value = "SELECT CAST(MIN(created_at) AS DATE) FROM orders WHERE payment_status = :paymentStatus", nativeQuery = true)
+    LocalDate findFirstSalesDate(@Param("paymentStatus") String paymentStatus);
+}
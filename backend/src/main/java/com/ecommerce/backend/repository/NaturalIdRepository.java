@@ -0,0 +1,17 @@
+package com.ecommerce.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+/**
+ * Repository for an entity with a {@code @NaturalId}. Lookups by natural id go through Hibernate's natural-id
+ * resolution, so they are served from the second-level cache when the entity is cached, unlike derived
+ * {@code findBy...} queries.
+ */
+@NoRepositoryBean
+public interface NaturalIdRepository<T, ID> extends JpaRepository<T, ID> {
+
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
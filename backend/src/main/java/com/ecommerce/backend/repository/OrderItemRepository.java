@@ -2,6 +2,8 @@ package com.ecommerce.backend.repository;
 
 import com.ecommerce.backend.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +14,9 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
     
     List<OrderItem> findByOrderId(UUID orderId);
     
+    @Query("SELECT oi FROM OrderItem oi LEFT JOIN FETCH oi.product WHERE oi.order.id = :orderId ORDER BY oi.createdAt ASC")
+    List<OrderItem> findWithProductByOrderId(@Param("orderId") UUID orderId);
+    
     List<OrderItem> findByProductId(UUID productId);
     
     void deleteByOrderId(UUID orderId);
@@ -1,8 +1,11 @@
 package com.ecommerce.backend.repository;
 
+import com.ecommerce.backend.dto.OrderHistoryItemDTO;
 import com.ecommerce.backend.model.Order;
 import com.ecommerce.backend.model.Order.OrderStatus;
 import com.ecommerce.backend.model.Order.PaymentStatus;
+import com.ecommerce.backend.repository.projection.OrderStatusProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,6 +16,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,10 +40,48 @@ public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecific
     
     Page<Order> findByUserIdAndStatus(UUID userId, OrderStatus status, Pageable pageable);
     
-    List<Order> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    @Query("SELECT new com.ecommerce.backend.dto.OrderHistoryItemDTO(" +
+           "o.id, o.orderNumber, o.totalAmount, o.status, o.paymentStatus, SIZE(o.orderItems), o.createdAt) " +
+           "FROM Order o WHERE o.user.id = :userId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderHistoryItemDTO> findHistoryByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query("SELECT new com.ecommerce.backend.dto.OrderHistoryItemDTO(" +
+           "o.id, o.orderNumber, o.totalAmount, o.status, o.paymentStatus, SIZE(o.orderItems), o.createdAt) " +
+           "FROM Order o WHERE o.user.id = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderHistoryItemDTO> findHistoryByUserIdBefore(
+            @Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
 
     long countByStatus(OrderStatus status);
 
+    @Query("SELECT o.id AS id, o.status AS status FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusProjection> findStatusesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Moves the orders whose status is one of {@code allowedCurrentStatuses} to {@code status} and returns each
+     * changed order with the status it had. The rows are locked first, so a status committed concurrently is the
+     * one checked and returned; orders that are not returned were left untouched.
+     */
+    @Query(value = "WITH locked AS (" +
+           "SELECT id, status FROM orders WHERE id IN (:ids) AND status IN (:allowedCurrentStatuses) " +
+           "ORDER BY id FOR UPDATE) " +
+           "UPDATE orders o SET status = :status, updated_at = :updatedAt FROM locked " +
+           "WHERE o.id = locked.id " +
+           "RETURNING o.id AS id, locked.status AS status",
+           nativeQuery = true)
+    List<OrderStatusProjection> updateStatusByIdIn(
+            @Param("ids") Collection<UUID> ids,
+            @Param("allowedCurrentStatuses") Collection<String> allowedCurrentStatuses,
+            @Param("status") String status,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
     long countByPaymentStatus(PaymentStatus paymentStatus);
 
     @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.paymentStatus = :paymentStatus")
@@ -0,0 +1,77 @@
+package com.ecommerce.backend.repository;
+
+import com.ecommerce.backend.model.ProductRatingStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProductRatingStatsRepository extends JpaRepository<ProductRatingStats, UUID> {
+
+    /**
+     * Adds the given deltas in one statement; concurrent writers for the same product serialize on the row lock.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_rating_stats"))
+    @Query(value = "INSERT INTO product_rating_stats (product_id, rating_sum, rating_count, " +
+            "star_1_count, star_2_count, star_3_count, star_4_count, star_5_count, updated_at) " +
+            "VALUES (:productId, :sumDelta, :countDelta, :star1, :star2, :star3, :star4, :star5, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (product_id) DO UPDATE SET " +
+            "rating_sum = product_rating_stats.rating_sum + EXCLUDED.rating_sum, " +
+            "rating_count = product_rating_stats.rating_count + EXCLUDED.rating_count, " +
+            "star_1_count = product_rating_stats.star_1_count + EXCLUDED.star_1_count, " +
+            "star_2_count = product_rating_stats.star_2_count + EXCLUDED.star_2_count, " +
+            "star_3_count = product_rating_stats.star_3_count + EXCLUDED.star_3_count, " +
+            "star_4_count = product_rating_stats.star_4_count + EXCLUDED.star_4_count, " +
+            "star_5_count = product_rating_stats.star_5_count + EXCLUDED.star_5_count, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int applyDelta(
+            @Param("productId") UUID productId,
+            @Param("sumDelta") long sumDelta,
+            @Param("countDelta") long countDelta,
+            @Param("star1") long star1,
+            @Param("star2") long star2,
+            @Param("star3") long star3,
+            @Param("star4") long star4,
+            @Param("star5") long star5
+    );
+
+    /**
+     * Copies the aggregate onto products.rating / products.total_reviews without loading the product.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"))
+    @Query(value = "UPDATE products p SET " +
+            "rating = CASE WHEN s.rating_count > 0 THEN ROUND(CAST(s.rating_sum AS NUMERIC) / s.rating_count, 2) ELSE 0 END, " +
+            "total_reviews = s.rating_count " +
+            "FROM product_rating_stats s WHERE s.product_id = p.id AND p.id = :productId",
+            nativeQuery = true)
+    int syncProductRating(@Param("productId") UUID productId);
+
+    /**
+     * Seeds aggregates for products that have approved reviews but no stats row yet (e.g. data from before this table).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_rating_stats"))
+    @Query(value = "INSERT INTO product_rating_stats (product_id, rating_sum, rating_count, " +
+            "star_1_count, star_2_count, star_3_count, star_4_count, star_5_count, updated_at) " +
+            "SELECT r.product_id, SUM(r.rating), COUNT(*), " +
+            "COUNT(*) FILTER (WHERE r.rating = 1), COUNT(*) FILTER (WHERE r.rating = 2), " +
+            "COUNT(*) FILTER (WHERE r.rating = 3), COUNT(*) FILTER (WHERE r.rating = 4), " +
+            "COUNT(*) FILTER (WHERE r.rating = 5), CURRENT_TIMESTAMP " +
+            "FROM reviews r " +
+            "WHERE r.status = 'APPROVED' " +
+            "AND NOT EXISTS (SELECT 1 FROM product_rating_stats s WHERE s.product_id = r.product_id) " +
+            "GROUP BY r.product_id " +
+            "ON CONFLICT (product_id) DO NOTHING",
+            nativeQuery = true)
+    int seedMissingStats();
+}
@@ -2,6 +2,7 @@ package com.ecommerce.backend.repository;
 
 import com.ecommerce.backend.model.Review;
 import com.ecommerce.backend.model.Review.ReviewStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,7 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,18 +24,29 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
     
     List<Review> findByProductIdAndStatus(UUID productId, ReviewStatus status);
     
-    Page<Review> findByProductIdAndStatus(UUID productId, ReviewStatus status, Pageable pageable);
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.status = :status " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageByProductIdAndStatus(
+            @Param("productId") UUID productId,
+            @Param("status") ReviewStatus status,
+            Limit limit
+    );
+    
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.status = :status " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageByProductIdAndStatusBefore(
+            @Param("productId") UUID productId,
+            @Param("status") ReviewStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
     
     List<Review> findByUserId(UUID userId);
     
     Optional<Review> findByUserIdAndProductIdAndOrderId(UUID userId, UUID productId, UUID orderId);
     
     boolean existsByUserIdAndProductIdAndOrderId(UUID userId, UUID productId, UUID orderId);
-    
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.product.id = :productId AND r.status = 'APPROVED'")
-    BigDecimal calculateAverageRatingByProductId(@Param("productId") UUID productId);
-    
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId AND r.status = 'APPROVED'")
-    long countApprovedReviewsByProductId(@Param("productId") UUID productId);
 }
 
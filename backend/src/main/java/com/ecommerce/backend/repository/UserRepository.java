@@ -2,17 +2,21 @@ package com.ecommerce.backend.repository;
 
 import com.ecommerce.backend.model.User;
 import com.ecommerce.backend.model.User.UserRole;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.ecommerce.backend.repository.projection.UserNameProjection;
+import com.ecommerce.backend.repository.projection.UserTokenStateProjection;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends NaturalIdRepository<User, UUID> {
     
     Optional<User> findByUsername(String username);
     
@@ -24,8 +28,39 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     Optional<User> findByUsernameOrEmail(String username, String email);
 
+    /**
+     * Emails always contain '@', so any other identifier can only be a username and is resolved
+     * through the natural-id cache instead of a query.
+     */
+    default Optional<User> findByUsernameOrEmail(String usernameOrEmail) {
+        if (usernameOrEmail.contains("@")) {
+            return findByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
+        }
+        return findBySimpleNaturalId(usernameOrEmail);
+    }
+
     long countByRole(UserRole role);
 
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :previousHash")
+    int updatePasswordIfUnchanged(@Param("id") UUID id,
+                                  @Param("previousHash") String previousHash,
+                                  @Param("newHash") String newHash);
+
+    /**
+     * Users whose older tokens must be rejected: those with a bumped token version and disabled accounts.
+     */
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.enabled AS enabled, u.role AS role FROM User u " +
+            "WHERE u.tokenVersion > 0 OR u.enabled = false")
+    List<UserTokenStateProjection> findTokenStatesToEnforce();
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.enabled AS enabled, u.role AS role FROM User u " +
+            "WHERE u.id = :id")
+    Optional<UserTokenStateProjection> findTokenStateById(@Param("id") UUID id);
+
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids")
+    List<UserNameProjection> findUsernamesByIdIn(@Param("ids") Collection<UUID> ids);
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.createdAt >= :startDate")
     long countByRoleAndCreatedAtAfter(
             @Param("role") UserRole role,
@@ -0,0 +1,12 @@
+package com.ecommerce.backend.repository.projection;
+
+import com.ecommerce.backend.model.Order;
+
+import java.util.UUID;
+
+public interface OrderStatusProjection {
+
+    UUID getId();
+
+    Order.OrderStatus getStatus();
+}
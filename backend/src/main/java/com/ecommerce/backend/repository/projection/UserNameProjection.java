@@ -0,0 +1,10 @@
+package com.ecommerce.backend.repository.projection;
+
+import java.util.UUID;
+
+public interface UserNameProjection {
+
+    UUID getId();
+
+    String getUsername();
+}
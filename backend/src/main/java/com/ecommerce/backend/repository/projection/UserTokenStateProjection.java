@@ -0,0 +1,16 @@
+package com.ecommerce.backend.repository.projection;
+
+import com.ecommerce.backend.model.User;
+
+import java.util.UUID;
+
+public interface UserTokenStateProjection {
+
+    UUID getId();
+
+    Integer getTokenVersion();
+
+    Boolean getEnabled();
+
+    User.UserRole getRole();
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.backend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Principal built from verified JWT claims; {@link #getName()} is the username, like the UserDetails it replaces.
+ */
+public record AuthenticatedUser(UUID userId, String username, String role) implements AuthenticatedPrincipal, Serializable {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
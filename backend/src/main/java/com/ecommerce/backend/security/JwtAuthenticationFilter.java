@@ -1,6 +1,7 @@
 package com.ecommerce.backend.security;
 
 import com.ecommerce.backend.service.JwtService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +9,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,14 +19,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private final JwtService jwtService;
+    private final JwtTokenVerifier jwtTokenVerifier;
     private final UserDetailsService userDetailsService;
     
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+    
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -33,28 +41,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
         
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtService.extractUsername(jwt);
+            final JwtService.TokenClaims claims = jwtTokenVerifier.verify(jwt);
             
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                
-                if (jwtService.validateToken(jwt, userDetails.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            if (claims != null && claims.username() != null) {
+                UsernamePasswordAuthenticationToken authToken = claims.userId() != null && claims.role() != null
+                        ? fromClaims(claims)
+                        : fromUserDetails(claims.username());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+        } catch (JwtException e) {
+            logger.debug("Rejected JWT: " + e.getMessage());
         } catch (Exception e) {
             // Log error but continue with filter chain
             logger.error("JWT validation failed", e);
@@ -62,5 +67,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    private UsernamePasswordAuthenticationToken fromClaims(JwtService.TokenClaims claims) {
+        AuthenticatedUser principal = new AuthenticatedUser(claims.userId(), claims.username(), claims.role());
+        List<GrantedAuthority> authorities = authoritiesByRole.computeIfAbsent(
+                claims.role(), role -> List.of(new SimpleGrantedAuthority(role)));
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+    
+    /**
+     * Tokens issued before userId and role were embedded still resolve through the database until they expire.
+     */
+    private UsernamePasswordAuthenticationToken fromUserDetails(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
-
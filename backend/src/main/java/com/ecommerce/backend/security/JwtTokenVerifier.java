@@ -0,0 +1,67 @@
+package com.ecommerce.backend.security;
+
+import com.ecommerce.backend.config.JwtConfig;
+import com.ecommerce.backend.service.BusinessMetricsService;
+import com.ecommerce.backend.service.JwtService;
+import com.ecommerce.backend.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies a bearer token once and remembers the result until the token expires, so repeated requests with the
+ * same token skip signature checking and claim parsing. Revocation is checked on every call, cached or not.
+ * The cache is bounded: when full, expired entries are dropped first, then an arbitrary quarter of the rest.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtTokenVerifier {
+
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtConfig jwtConfig;
+    private final BusinessMetricsService businessMetricsService;
+
+    private final Map<String, JwtService.TokenClaims> verified = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the token's claims, or {@code null} when it has expired or was revoked.
+     * Throws {@link io.jsonwebtoken.JwtException} for tokens that do not verify.
+     */
+    public JwtService.TokenClaims verify(String token) {
+        long now = System.currentTimeMillis();
+        JwtService.TokenClaims claims = verified.get(token);
+        businessMetricsService.recordCacheAccess("jwt-verified", claims != null);
+        if (claims == null) {
+            claims = jwtService.parseToken(token);
+            remember(token, claims, now);
+        } else if (claims.expiresAtMillis() <= now) {
+            verified.remove(token);
+            return null;
+        }
+
+        if (claims.userId() != null && tokenRevocationService.isRevoked(claims)) {
+            return null;
+        }
+        return claims;
+    }
+
+    private void remember(String token, JwtService.TokenClaims claims, long now) {
+        int maxSize = Math.max(jwtConfig.getVerifiedCacheSize(), 1);
+        if (verified.size() >= maxSize) {
+            verified.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+            if (verified.size() >= maxSize) {
+                int toRemove = verified.size() - maxSize * 3 / 4;
+                Iterator<String> keys = verified.keySet().iterator();
+                while (toRemove-- > 0 && keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+        }
+        verified.put(token, claims);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.backend.security;
+
+import com.ecommerce.backend.service.SqlRequestStats;
+import com.ecommerce.backend.service.SqlStatementMonitor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL each request runs, including the security chain's own lookups, and reports it per endpoint
+ * pattern. Statements issued on other threads (async dispatch, executors) are not attributed to the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class SqlMonitoringFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !sqlStatementMonitor.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+        }
+        sqlStatementMonitor.record(request.getMethod(), uriTag(request, response), stats);
+    }
+
+    private static String uriTag(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        // Same fallbacks as http.server.requests, keeping the tag's cardinality bounded
+        return response.getStatus() == HttpStatus.NOT_FOUND.value() ? "NOT_FOUND" : "UNKNOWN";
+    }
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.dto.BannerResponseDTO;
+import com.ecommerce.backend.model.Banner;
+import com.ecommerce.backend.repository.BannerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves GET /api/banners/active without touching the database.
+ *
+ * <p>The set of visible banners only changes when an admin edits banners or a scheduleStart/scheduleEnd passes.
+ * On refresh the enabled banners are turned into a timeline: one segment per interval between successive schedule
+ * boundaries, each holding the already serialized JSON response and its ETag. The current segment is swapped by a
+ * one-shot task at the next boundary; reads also fall back to the timeline if that task runs late. The timeline
+ * is rebuilt after banner writes commit and periodically, to pick up changes made outside the application.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveBannerCache {
+
+    // Boundaries further out are handled by rebuilding the timeline when its last segment ends
+    private static final int MAX_SEGMENTS = 256;
+
+    private final BannerRepository bannerRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final PlatformTransactionManager transactionManager;
+    private final BusinessMetricsService businessMetricsService;
+
+    private final AtomicLong buildGeneration = new AtomicLong();
+    private final AtomicReference<Timeline> timeline = new AtomicReference<>(Timeline.EMPTY);
+    private final AtomicReference<Segment> current = new AtomicReference<>();
+    private ScheduledFuture<?> nextSwap;
+
+    /**
+     * Pre-serialized response for one interval: visible from {@code from} (inclusive) to {@code until} (exclusive).
+     */
+    public record Segment(long from, long until, byte[] json, String etag) {
+
+        boolean contains(long now) {
+            return from <= now && now < until;
+        }
+    }
+
+    private record Timeline(long generation, List<Segment> segments) {
+
+        static final Timeline EMPTY = new Timeline(0L, List.of());
+
+        Segment segmentAt(long now) {
+            for (Segment segment : segments) {
+                if (segment.contains(now)) {
+                    return segment;
+                }
+            }
+            return null;
+        }
+    }
+
+    public Segment getActiveBanners() {
+        long now = System.currentTimeMillis();
+        Segment segment = current.get();
+        if (segment != null && segment.contains(now)) {
+            businessMetricsService.recordCacheAccess("active-banners", true);
+            return segment;
+        }
+
+        // Swap task not run yet (or nothing built yet): look the segment up, rebuilding past the timeline's end
+        segment = timeline.get().segmentAt(now);
+        businessMetricsService.recordCacheAccess("active-banners", segment != null);
+        if (segment == null) {
+            refresh();
+            segment = Objects.requireNonNull(timeline.get().segmentAt(now));
+        }
+        current.set(segment);
+        return segment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${banners.cache.refresh-interval-ms:600000}",
+            initialDelayString = "${banners.cache.refresh-interval-ms:600000}")
+    public void refresh() {
+        long generation = buildGeneration.incrementAndGet();
+        long now = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // May run from another transaction's afterCommit callback, so always use a fresh transaction
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Banner> banners = transactionTemplate.execute(status ->
+                bannerRepository.findEnabledBannersNotEndedBefore(toLocalDateTime(now)));
+
+        Timeline built = buildTimeline(generation, Objects.requireNonNull(banners), now);
+        // A slower refresh that started earlier must not replace a newer timeline
+        Timeline installed = timeline.accumulateAndGet(built,
+                (existing, fresh) -> fresh.generation() > existing.generation() ? fresh : existing);
+        if (installed == built) {
+            current.set(built.segmentAt(now));
+            scheduleNextSwap(built, now);
+            log.debug("Rebuilt active banner timeline: {} banners, {} segments", banners.size(), built.segments().size());
+        }
+    }
+
+    /**
+     * Rebuilds once the surrounding transaction commits, or immediately outside a transaction.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    private void advance() {
+        long now = System.currentTimeMillis();
+        Timeline installed = timeline.get();
+        Segment segment = installed.segmentAt(now);
+        if (segment == null) {
+            refresh();
+            return;
+        }
+        current.set(segment);
+        scheduleNextSwap(installed, now);
+    }
+
+    private synchronized void scheduleNextSwap(Timeline installed, long now) {
+        if (nextSwap != null) {
+            nextSwap.cancel(false);
+            nextSwap = null;
+        }
+        Segment segment = installed.segmentAt(now);
+        if (segment != null && segment.until() != Long.MAX_VALUE) {
+            nextSwap = taskScheduler.schedule(this::advance, Instant.ofEpochMilli(segment.until()));
+        }
+    }
+
+    private Timeline buildTimeline(long generation, List<Banner> banners, long now) {
+        // A banner is visible while start <= t <= end, so it appears at start and disappears just after end
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (Banner banner : banners) {
+            if (banner.getScheduleStart() != null) {
+                boundaries.add(toMillis(banner.getScheduleStart()));
+            }
+            if (banner.getScheduleEnd() != null) {
+                boundaries.add(toMillis(banner.getScheduleEnd()) + 1);
+            }
+        }
+
+        // The first segment is open towards the past so a read racing the rebuild always finds one
+        List<Long> starts = new ArrayList<>();
+        starts.add(Long.MIN_VALUE);
+        starts.addAll(boundaries.tailSet(now, false));
+
+        int segmentCount = Math.min(starts.size(), MAX_SEGMENTS);
+        List<Segment> segments = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            long from = starts.get(i);
+            long until = i + 1 < starts.size() ? starts.get(i + 1) : Long.MAX_VALUE;
+            segments.add(buildSegment(banners, from, until, Math.max(from, now)));
+        }
+        return new Timeline(generation, List.copyOf(segments));
+    }
+
+    private Segment buildSegment(List<Banner> banners, long from, long until, long visibleAt) {
+        List<BannerResponseDTO> visible = banners.stream()
+                .filter(banner -> banner.getScheduleStart() == null || toMillis(banner.getScheduleStart()) <= visibleAt)
+                .filter(banner -> banner.getScheduleEnd() == null || toMillis(banner.getScheduleEnd()) >= visibleAt)
+                .map(BannerResponseDTO::from)
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(visible);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new Segment(from, until, json, etag);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize active banners", ex);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.AdminEventsConfig;
+import com.ecommerce.backend.dto.AdminEventDTO;
+import com.ecommerce.backend.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans admin events out to all connected SSE clients. Each event is serialized once; every client has a
+ * bounded buffer that drops its oldest events when the client cannot keep up, so one slow tab never
+ * holds memory or blocks the others.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminEventBroadcaster {
+
+    private final AdminEventsConfig eventsConfig;
+    private final ObjectMapper objectMapper;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private ExecutorService senders;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void start() {
+        senders = Executors.newFixedThreadPool(
+                Math.max(eventsConfig.getSenderThreads(), 1), new CustomizableThreadFactory("admin-events-"));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("admin-events-heartbeat-"));
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat,
+                eventsConfig.getHeartbeatIntervalMs(), eventsConfig.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+        clients.clear();
+    }
+
+    public SseEmitter subscribe() {
+        if (clients.size() >= eventsConfig.getMaxClients()) {
+            throw new InvalidRequestException("Đã đạt số lượng kết nối theo dõi tối đa, vui lòng thử lại sau");
+        }
+        SseEmitter emitter = new SseEmitter(eventsConfig.getEmitterTimeoutMs());
+        Client client = new Client(emitter, Math.max(eventsConfig.getBufferSize(), 1));
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(ex -> clients.remove(client));
+        clients.add(client);
+        log.debug("[EVENTS] Admin client subscribed ({} connected)", clients.size());
+        return emitter;
+    }
+
+    public void publish(String type, Object payload) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        AdminEventDTO event = AdminEventDTO.builder()
+                .id(sequence.incrementAndGet())
+                .type(type)
+                .occurredAt(LocalDateTime.now())
+                .payload(payload)
+                .build();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            log.warn("[EVENTS] Could not serialize {} event: {}", type, ex.getMessage());
+            return;
+        }
+        // Built once and shared by all clients; the frame is never modified after this point
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event()
+                .id(Long.toString(event.getId()))
+                .name(type)
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+        for (Client client : clients) {
+            client.offer(message);
+            scheduleDrain(client);
+        }
+    }
+
+    public int getConnectedClients() {
+        return clients.size();
+    }
+
+    private void scheduleDrain(Client client) {
+        if (client.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(client));
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> message;
+            while ((message = client.poll()) != null) {
+                client.emitter.send(message);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            clients.remove(client);
+            client.emitter.completeWithError(ex);
+            return;
+        } finally {
+            client.draining.set(false);
+        }
+        // An event may have been offered after the last poll but before the flag was cleared
+        if (client.hasPending()) {
+            scheduleDrain(client);
+        }
+    }
+
+    private void sendHeartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (Client client : clients) {
+            client.offer(ping);
+            scheduleDrain(client);
+        }
+    }
+
+    private static final class Client {
+        private final SseEmitter emitter;
+        private final int capacity;
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private long dropped;
+
+        private Client(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.capacity = capacity;
+            this.buffer = new ArrayDeque<>(Math.min(capacity, 64));
+        }
+
+        private synchronized void offer(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            if (buffer.size() >= capacity) {
+                buffer.pollFirst();
+                dropped++;
+                if (dropped == 1 || dropped % capacity == 0) {
+                    log.warn("[EVENTS] Slow admin client, {} event(s) dropped so far", dropped);
+                }
+            }
+            buffer.addLast(message);
+        }
+
+        private synchronized Set<ResponseBodyEmitter.DataWithMediaType> poll() {
+            return buffer.pollFirst();
+        }
+
+        private synchronized boolean hasPending() {
+            return !buffer.isEmpty();
+        }
+    }
+}
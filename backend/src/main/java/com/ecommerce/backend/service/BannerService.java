@@ -27,6 +27,8 @@ import java.util.stream.Collectors;
 public class BannerService {
 
     private final BannerRepository bannerRepository;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final ActiveBannerCache activeBannerCache;
 
     @Transactional(readOnly = true)
     public List<BannerResponseDTO> getAllBanners() {
@@ -37,14 +39,6 @@ public class BannerService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public List<BannerResponseDTO> getActiveBanners() {
-        List<Banner> activeBanners = bannerRepository.findActiveBanners(LocalDateTime.now());
-        return activeBanners.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
-
     @Transactional
     public BannerResponseDTO createBanner(BannerRequestDTO request) {
         validateSchedule(request.getScheduleStart(), request.getScheduleEnd());
@@ -54,6 +48,8 @@ public class BannerService {
         applyRequestToEntity(banner, request);
 
         Banner saved = bannerRepository.save(banner);
+        dashboardMetricsService.recordBannerActivation(false, Boolean.TRUE.equals(saved.getActive()));
+        activeBannerCache.refreshAfterCommit();
         return mapToResponse(saved);
     }
 
@@ -64,8 +60,11 @@ public class BannerService {
         Banner banner = bannerRepository.findById(bannerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Banner", "id", bannerId));
 
+        boolean wasActive = Boolean.TRUE.equals(banner.getActive());
         applyRequestToEntity(banner, request);
         Banner saved = bannerRepository.save(banner);
+        dashboardMetricsService.recordBannerActivation(wasActive, Boolean.TRUE.equals(saved.getActive()));
+        activeBannerCache.refreshAfterCommit();
         return mapToResponse(saved);
     }
 
@@ -74,7 +73,9 @@ public class BannerService {
         Banner banner = bannerRepository.findById(bannerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Banner", "id", bannerId));
         bannerRepository.delete(banner);
+        dashboardMetricsService.recordBannerActivation(Boolean.TRUE.equals(banner.getActive()), false);
         normalizeDisplayOrder();
+        activeBannerCache.refreshAfterCommit();
     }
 
     @Transactional
@@ -99,6 +100,7 @@ public class BannerService {
         }
 
         bannerRepository.saveAll(bannerMap.values());
+        activeBannerCache.refreshAfterCommit();
     }
 
     private void applyRequestToEntity(Banner banner, BannerRequestDTO request) {
@@ -137,27 +139,7 @@ public class BannerService {
     }
 
     private BannerResponseDTO mapToResponse(Banner banner) {
-        return BannerResponseDTO.builder()
-                .id(banner.getId())
-                .title(banner.getTitle())
-                .subtitle(banner.getSubtitle())
-                .description(banner.getDescription())
-                .imageUrl(banner.getImageUrl())
-                .buttonText(banner.getButtonText())
-                .buttonLink(banner.getButtonLink())
-                .displayOrder(banner.getDisplayOrder())
-                .active(Boolean.TRUE.equals(banner.getActive()))
-                .scheduleStart(toOffsetDateTime(banner.getScheduleStart()))
-                .scheduleEnd(toOffsetDateTime(banner.getScheduleEnd()))
-                .createdAt(toOffsetDateTime(banner.getCreatedAt()))
-                .updatedAt(toOffsetDateTime(banner.getUpdatedAt()))
-                .build();
-    }
-
-    private OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime) {
-        return localDateTime == null
-                ? null
-                : localDateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        return BannerResponseDTO.from(banner);
     }
 
     private LocalDateTime toLocalDateTime(OffsetDateTime offsetDateTime) {
@@ -0,0 +1,240 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.dto.CachePerformanceDTO;
+import com.ecommerce.backend.dto.OperationLatencyDTO;
+import com.ecommerce.backend.dto.OrderThroughputDTO;
+import com.ecommerce.backend.dto.PerformanceReportDTO;
+import com.ecommerce.backend.exception.InsufficientStockException;
+import com.ecommerce.backend.exception.InvalidRequestException;
+import com.ecommerce.backend.exception.ResourceAlreadyExistsException;
+import com.ecommerce.backend.exception.ResourceNotFoundException;
+import com.ecommerce.backend.exception.TooManyRequestsException;
+import com.ecommerce.backend.exception.UnauthorizedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency and throughput of the operations the business cares about, next to the generic HTTP metrics.
+ * <ul>
+ *     <li>{@code shop.operation}: timer per operation and outcome (checkout, cart.*, product.*, auth.login, ...)</li>
+ *     <li>{@code shop.checkout.phase}: checkout split into stock_check, insert and cart_clear</li>
+ *     <li>{@code shop.stock.conflicts}: requests refused for insufficient stock, per operation</li>
+ *     <li>{@code shop.cache.requests}: in-memory cache lookups per cache and result (hit/miss)</li>
+ *     <li>{@code shop.orders.placed}: committed checkouts</li>
+ * </ul>
+ * Timers publish histogram buckets for Prometheus and a few client-side percentiles for the admin JSON report,
+ * which also lists the Hibernate second-level cache regions next to the in-memory caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class BusinessMetricsService {
+
+    private static final String OPERATION_TIMER = "shop.operation";
+    private static final String PHASE_TIMER = "shop.checkout.phase";
+    private static final String STOCK_CONFLICTS = "shop.stock.conflicts";
+    private static final String CACHE_REQUESTS = "shop.cache.requests";
+    private static final String ORDERS_PLACED = "shop.orders.placed";
+    // Published by Hibernate statistics for each second-level cache region
+    private static final String SECOND_LEVEL_CACHE_REQUESTS = "hibernate.second.level.cache.requests";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final int THROUGHPUT_WINDOW_MINUTES = 60;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final long[] ordersPerMinute = new long[THROUGHPUT_WINDOW_MINUTES];
+    private final long[] ordersMinuteStamp = new long[THROUGHPUT_WINDOW_MINUTES];
+
+    /**
+     * Runs the action and records its latency under {@code shop.operation}, tagged with how it ended.
+     */
+    public <T> T record(String operation, Supplier<T> action) {
+        long startedAt = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            if (e instanceof InsufficientStockException) {
+                counter(STOCK_CONFLICTS, "operation", operation).increment();
+            }
+            throw e;
+        } finally {
+            operationTimer(operation, outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void record(String operation, Runnable action) {
+        record(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void recordCheckoutPhase(String phase, long nanos) {
+        timers.computeIfAbsent(PHASE_TIMER + ":" + phase, key -> Timer.builder(PHASE_TIMER)
+                        .description("Checkout time per phase")
+                        .tag("phase", phase)
+                        .publishPercentileHistogram()
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCacheAccess(String cache, boolean hit) {
+        counter(CACHE_REQUESTS, "cache", cache, "result", hit ? "hit" : "miss").increment();
+    }
+
+    public void recordOrderPlaced() {
+        counter(ORDERS_PLACED).increment();
+        long minute = System.currentTimeMillis() / 60_000;
+        int slot = (int) (minute % THROUGHPUT_WINDOW_MINUTES);
+        synchronized (ordersPerMinute) {
+            if (ordersMinuteStamp[slot] != minute) {
+                ordersMinuteStamp[slot] = minute;
+                ordersPerMinute[slot] = 0;
+            }
+            ordersPerMinute[slot]++;
+        }
+    }
+
+    public PerformanceReportDTO getReport() {
+        List<OperationLatencyDTO> operations = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(OPERATION_TIMER).timers()) {
+            operations.add(latency(timer.getId().getTag("operation"), timer.getId().getTag("outcome"), timer));
+        }
+        for (Timer timer : meterRegistry.find(PHASE_TIMER).timers()) {
+            operations.add(latency("checkout." + timer.getId().getTag("phase"), null, timer));
+        }
+        operations.sort(Comparator.comparing(OperationLatencyDTO::getOperation)
+                .thenComparing(dto -> dto.getOutcome() == null ? "" : dto.getOutcome()));
+
+        Map<String, long[]> cacheCounts = new LinkedHashMap<>();
+        for (Counter counter : meterRegistry.find(CACHE_REQUESTS).counters()) {
+            long[] counts = cacheCounts.computeIfAbsent(counter.getId().getTag("cache"), cache -> new long[2]);
+            counts["hit".equals(counter.getId().getTag("result")) ? 0 : 1] += (long) counter.count();
+        }
+        for (FunctionCounter counter : meterRegistry.find(SECOND_LEVEL_CACHE_REQUESTS).functionCounters()) {
+            long[] counts = cacheCounts.computeIfAbsent("l2." + counter.getId().getTag("region"), cache -> new long[2]);
+            counts["hit".equals(counter.getId().getTag("result")) ? 0 : 1] += (long) counter.count();
+        }
+        List<CachePerformanceDTO> caches = new ArrayList<>();
+        cacheCounts.forEach((cache, counts) -> caches.add(new CachePerformanceDTO(cache, counts[0], counts[1],
+                counts[0] + counts[1] == 0 ? 0 : (double) counts[0] / (counts[0] + counts[1]))));
+
+        Map<String, Long> stockConflicts = new LinkedHashMap<>();
+        for (Counter counter : meterRegistry.find(STOCK_CONFLICTS).counters()) {
+            stockConflicts.put(counter.getId().getTag("operation"), (long) counter.count());
+        }
+
+        return PerformanceReportDTO.builder()
+                .operations(operations)
+                .caches(caches)
+                .stockConflicts(stockConflicts)
+                .orderThroughput(orderThroughput())
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private OrderThroughputDTO orderThroughput() {
+        long currentMinute = System.currentTimeMillis() / 60_000;
+        long[] perMinute = new long[THROUGHPUT_WINDOW_MINUTES];
+        synchronized (ordersPerMinute) {
+            for (int ago = 0; ago < THROUGHPUT_WINDOW_MINUTES; ago++) {
+                long minute = currentMinute - ago;
+                int slot = (int) (minute % THROUGHPUT_WINDOW_MINUTES);
+                perMinute[ago] = ordersMinuteStamp[slot] == minute ? ordersPerMinute[slot] : 0;
+            }
+        }
+        long lastFive = 0;
+        long lastHour = 0;
+        List<Long> minutes = new ArrayList<>(THROUGHPUT_WINDOW_MINUTES);
+        for (int ago = 0; ago < THROUGHPUT_WINDOW_MINUTES; ago++) {
+            // Index 0 is the minute in progress; averages use completed minutes only
+            if (ago >= 1 && ago <= 5) {
+                lastFive += perMinute[ago];
+            }
+            if (ago >= 1) {
+                lastHour += perMinute[ago];
+            }
+            minutes.add(perMinute[ago]);
+        }
+        return new OrderThroughputDTO(perMinute[0], perMinute[1], lastFive / 5.0,
+                lastHour / (double) (THROUGHPUT_WINDOW_MINUTES - 1), minutes, (long) counter(ORDERS_PLACED).count());
+    }
+
+    private static OperationLatencyDTO latency(String operation, String outcome, Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<Double, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+        }
+        return OperationLatencyDTO.builder()
+                .operation(operation)
+                .outcome(outcome)
+                .count(snapshot.count())
+                .meanMs(snapshot.mean(TimeUnit.MILLISECONDS))
+                .p50Ms(percentiles.getOrDefault(0.5, 0.0))
+                .p95Ms(percentiles.getOrDefault(0.95, 0.0))
+                .p99Ms(percentiles.getOrDefault(0.99, 0.0))
+                .maxMs(snapshot.max(TimeUnit.MILLISECONDS))
+                .build();
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof InsufficientStockException) {
+            return "stock_conflict";
+        }
+        if (e instanceof ConcurrencyFailureException) {
+            // Lock timeouts, deadlocks and serialization failures: the cases a client retry would resolve
+            return "conflict";
+        }
+        if (e instanceof ResourceNotFoundException || e instanceof InvalidRequestException
+                || e instanceof ResourceAlreadyExistsException
+                || e instanceof UnauthorizedException || e instanceof AuthenticationException) {
+            return "rejected";
+        }
+        if (e instanceof TooManyRequestsException) {
+            return "throttled";
+        }
+        return "error";
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        return timers.computeIfAbsent(OPERATION_TIMER + ":" + operation + ":" + outcome, key -> Timer.builder(OPERATION_TIMER)
+                .description("Latency of business operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofMinutes(5))
+                .register(meterRegistry));
+    }
+
+    private Counter counter(String name, String... tags) {
+        return counters.computeIfAbsent(name + ":" + String.join(":", tags),
+                key -> Counter.builder(name).tags(tags).register(meterRegistry));
+    }
+}
@@ -1,11 +1,14 @@
 package com.ecommerce.backend.service;
 
+import com.ecommerce.backend.dto.ApplicableCouponDTO;
+import com.ecommerce.backend.dto.CartCouponsDTO;
 import com.ecommerce.backend.dto.CartDTO;
 import com.ecommerce.backend.dto.CartItemDTO;
 import com.ecommerce.backend.exception.InsufficientStockException;
 import com.ecommerce.backend.exception.InvalidRequestException;
 import com.ecommerce.backend.exception.ResourceNotFoundException;
 import com.ecommerce.backend.model.CartItem;
+import com.ecommerce.backend.model.Coupon;
 import com.ecommerce.backend.model.Product;
 import com.ecommerce.backend.model.User;
 import com.ecommerce.backend.repository.CartItemRepository;
@@ -15,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,6 +30,8 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final CustomerSegmentService customerSegmentService;
+    private final CouponEvaluationService couponEvaluationService;
     
     public CartDTO getCartByUserId(UUID userId) {
         List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
@@ -35,6 +41,22 @@ public class CartService {
         return new CartDTO(cartItemDTOs);
     }
     
+    @Transactional(readOnly = true)
+    public CartCouponsDTO getApplicableCoupons(UUID userId) {
+        BigDecimal cartTotal = getCartByUserId(userId).getFinalAmount();
+        Coupon.CustomerSegment segment = customerSegmentService.resolveSegment(userId);
+        List<ApplicableCouponDTO> coupons = couponEvaluationService.evaluate(cartTotal, segment);
+        ApplicableCouponDTO bestCoupon = coupons.isEmpty() ? null : coupons.get(0);
+
+        return CartCouponsDTO.builder()
+                .cartTotal(cartTotal)
+                .segment(segment)
+                .coupons(coupons)
+                .bestCoupon(bestCoupon)
+                .bestDiscount(bestCoupon != null ? bestCoupon.getDiscountAmount() : BigDecimal.ZERO)
+                .build();
+    }
+    
     @Transactional
     public CartItemDTO addToCart(UUID userId, UUID productId, Integer quantity) {
         User user = userRepository.findById(userId)
@@ -11,8 +11,9 @@ import com.ecommerce.backend.model.Category;
 import com.ecommerce.backend.repository.CategoryRepository;
 import com.ecommerce.backend.repository.ProductRepository;
 import com.ecommerce.backend.repository.projection.CategoryProductCountProjection;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -37,16 +38,11 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
     @Transactional
     public void initializeDisplayOrders() {
-        normalizeSiblingDisplayOrder(null);
-        categoryRepository.findByParentIsNotNull().stream()
-                .map(Category::getParent)
-                .filter(Objects::nonNull)
-                .map(Category::getId)
-                .distinct()
-                .forEach(this::normalizeSiblingDisplayOrder);
+        // One set-based statement: saving loaded categories would merge (and load) every product below them
+        categoryRepository.normalizeAllDisplayOrders();
     }
     
     @Transactional(readOnly = true)
@@ -79,7 +75,7 @@ public class CategoryService {
     
     @Transactional(readOnly = true)
     public CategoryDTO getCategoryByName(String name) {
-        Category category = categoryRepository.findByName(name)
+        Category category = categoryRepository.findBySimpleNaturalId(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "name", name));
         return new CategoryDTO(category);
     }
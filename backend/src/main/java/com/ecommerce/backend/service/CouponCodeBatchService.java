@@ -0,0 +1,271 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.CouponCodeConfig;
+import com.ecommerce.backend.dto.CouponCodeBatchRequestDTO;
+import com.ecommerce.backend.exception.InvalidRequestException;
+import com.ecommerce.backend.exception.ResourceNotFoundException;
+import com.ecommerce.backend.model.Coupon;
+import com.ecommerce.backend.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Generates large batches of single-use codes for a coupon.
+ *
+ * <p>Candidates are drawn from the configured alphabet and checked against a Bloom filter preloaded with every
+ * existing code, so almost no candidate reaches the database twice; the unique key on coupon_codes catches the
+ * rest (ON CONFLICT DO NOTHING) and those codes are simply replaced. Codes are inserted with JDBC batches, one
+ * transaction per batch, and each batch is written to the response only after it committed, so the downloaded
+ * file always matches the database even if the request is interrupted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponCodeBatchService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int PRELOAD_FETCH_SIZE = 10_000;
+    // The code space must be this many times larger than all codes after the batch, so collisions stay rare
+    private static final double MIN_KEYSPACE_RATIO = 100.0;
+    private static final int MAX_EMPTY_BATCHES = 3;
+
+    private static final String INSERT_SQL = "INSERT INTO coupon_codes (code, coupon_id, created_at) VALUES (?, ?, ?) "
+            + "ON CONFLICT (code) DO NOTHING";
+
+    private final CouponRepository couponRepository;
+    private final CouponEvaluationService couponEvaluationService;
+    private final CouponCodeConfig codeConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final SecureRandom random = new SecureRandom();
+
+    public record CodeBatch(String filename, StreamingResponseBody body) {
+    }
+
+    private record CodeBatchPlan(
+            UUID couponId, String couponCode, int count, int length, String prefix, char[] alphabet, long existingCodes) {
+    }
+
+    /**
+     * Validates the request and marks the coupon as code-only before anything is streamed, so request errors
+     * still map to normal 4xx responses.
+     */
+    public CodeBatch generateCodes(UUID couponId, CouponCodeBatchRequestDTO request) {
+        CodeBatchPlan plan = prepare(couponId, request);
+        String filename = plan.couponCode() + "-codes-" + LocalDate.now() + ".csv";
+        return new CodeBatch(filename, outputStream -> writeCodes(plan, outputStream));
+    }
+
+    private CodeBatchPlan prepare(UUID couponId, CouponCodeBatchRequestDTO request) {
+        int count = request.getCount();
+        if (count > codeConfig.getMaxCodesPerRequest()) {
+            throw new InvalidRequestException(String.format(
+                    "Số lượng mã tối đa cho mỗi lần tạo là %d", codeConfig.getMaxCodesPerRequest()));
+        }
+        int length = request.getLength() != null ? request.getLength() : codeConfig.getLength();
+        String prefix = request.getPrefix() != null ? request.getPrefix().trim().toUpperCase() : "";
+        char[] alphabet = codeConfig.getAlphabet().chars().distinct().collect(
+                StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append).toString().toCharArray();
+        if (alphabet.length < 2) {
+            throw new IllegalStateException("coupons.codes.alphabet must contain at least two distinct characters");
+        }
+        if (prefix.length() + length > 50) {
+            throw new InvalidRequestException("Mã giảm giá không được vượt quá 50 ký tự");
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            Coupon coupon = couponRepository.findById(couponId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Coupon", "id", couponId));
+
+            long existingCodes = Objects.requireNonNull(jdbcTemplate.queryForObject(
+                    "SELECT (SELECT COUNT(*) FROM coupons) + (SELECT COUNT(*) FROM coupon_codes)", Long.class));
+            double keyspace = Math.pow(alphabet.length, length);
+            if (keyspace < (existingCodes + count) * MIN_KEYSPACE_RATIO) {
+                throw new InvalidRequestException("Độ dài mã quá ngắn so với số lượng mã cần tạo");
+            }
+
+            if (!Boolean.TRUE.equals(coupon.getCodeRequired())) {
+                coupon.setCodeRequired(true);
+                couponRepository.save(coupon);
+                couponEvaluationService.refreshAfterCommit();
+            }
+            return new CodeBatchPlan(couponId, coupon.getCode(), count, length, prefix, alphabet, existingCodes);
+        }));
+    }
+
+    private void writeCodes(CodeBatchPlan plan, OutputStream outputStream) throws IOException {
+        long startedAt = System.nanoTime();
+        BloomFilter seen = new BloomFilter(plan.existingCodes() + plan.count(), codeConfig.getBloomFalsePositiveRate());
+        preload(seen);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write("code\r\n");
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int remaining = plan.count();
+        int emptyBatches = 0;
+        while (remaining > 0) {
+            List<String> candidates = nextCandidates(plan, Math.min(codeConfig.getBatchSize(), remaining), seen);
+            List<String> inserted = Objects.requireNonNull(
+                    transactionTemplate.execute(status -> insertBatch(plan.couponId(), candidates)));
+
+            for (String code : inserted) {
+                writer.write(code);
+                writer.write("\r\n");
+            }
+            writer.flush();
+
+            remaining -= inserted.size();
+            emptyBatches = inserted.isEmpty() ? emptyBatches + 1 : 0;
+            if (emptyBatches >= MAX_EMPTY_BATCHES) {
+                throw new IllegalStateException("Coupon code generation made no progress; the code space is exhausted");
+            }
+        }
+
+        log.info("Generated {} codes for coupon {} in {} ms", plan.count(), plan.couponId(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void preload(BloomFilter seen) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // Cursor-based fetch (needs a transaction on PostgreSQL) so existing codes are never all held in memory
+        RowCallbackHandler rowHandler = rs -> seen.put(rs.getString(1));
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT UPPER(code) FROM coupons UNION ALL SELECT code FROM coupon_codes",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(PRELOAD_FETCH_SIZE);
+            return statement;
+        }, rowHandler));
+    }
+
+    private List<String> nextCandidates(CodeBatchPlan plan, int size, BloomFilter seen) {
+        List<String> candidates = new ArrayList<>(size);
+        char[] buffer = new char[plan.length()];
+        long attempts = 0;
+        long maxAttempts = size * 20L;
+        while (candidates.size() < size) {
+            if (++attempts > maxAttempts) {
+                throw new IllegalStateException("Coupon code generation made no progress; the code space is exhausted");
+            }
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = plan.alphabet()[random.nextInt(plan.alphabet().length)];
+            }
+            String code = plan.prefix() + new String(buffer);
+            // A false positive only discards a fresh code; a real duplicate never gets through
+            if (!seen.mightContain(code)) {
+                seen.put(code);
+                candidates.add(code);
+            }
+        }
+        return candidates;
+    }
+
+    private List<String> insertBatch(UUID couponId, List<String> codes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, codes, codes.size(), (statement, code) -> {
+            statement.setString(1, code);
+            statement.setObject(2, couponId);
+            statement.setTimestamp(3, now);
+        });
+
+        List<String> inserted = new ArrayList<>(codes.size());
+        boolean countsKnown = true;
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    countsKnown = false;
+                } else if (count > 0) {
+                    inserted.add(codes.get(index));
+                }
+                index++;
+            }
+        }
+        if (countsKnown) {
+            return inserted;
+        }
+
+        // Rewritten batches (reWriteBatchedInserts=true) report no per-row counts; read back what is ours
+        return jdbcTemplate.queryForList(
+                "SELECT code FROM coupon_codes WHERE coupon_id = ? AND code = ANY (?)",
+                String.class,
+                couponId,
+                codes.toArray(new String[0]));
+    }
+
+    /**
+     * Minimal Bloom filter over code strings, sized for the expected number of codes and false-positive rate.
+     * Uses double hashing of two 32-bit hashes; not thread-safe (one instance per generation request).
+     */
+    private static final class BloomFilter {
+
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(expectedInsertions, 1);
+            double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+            long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, ((m + 63) / 64) * 64);
+            this.bits = new long[(int) (bitCount / 64)];
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(String value) {
+            int h1 = value.hashCode();
+            int h2 = mix(h1, value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        boolean mightContain(String value) {
+            int h1 = value.hashCode();
+            int h2 = mix(h1, value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int seed, String value) {
+            int h = seed ^ 0x9E3779B9;
+            for (int i = value.length() - 1; i >= 0; i--) {
+                h = (h ^ value.charAt(i)) * 0x01000193;
+            }
+            return h | 1;
+        }
+    }
+}
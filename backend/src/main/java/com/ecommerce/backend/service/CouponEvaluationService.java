@@ -0,0 +1,239 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.dto.ApplicableCouponDTO;
+import com.ecommerce.backend.model.Coupon;
+import com.ecommerce.backend.model.Coupon.CustomerSegment;
+import com.ecommerce.backend.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Answers "which coupons apply to this cart and which is best" from memory.
+ *
+ * <p>Active coupons are compiled into an immutable index. The index holds the slice of coupons valid right now,
+ * already split per customer segment and sorted by minimum order value, plus the instant the next coupon starts
+ * or ends. A lookup past that instant re-slices from the compiled coupons without touching the database.
+ * The index is recompiled after coupon writes commit and periodically, which also drops coupons whose
+ * usage_count reached the limit. Per-user limits are not checked here; redemption enforces them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponEvaluationService {
+
+    private static final CustomerSegment[] CUSTOMER_SEGMENTS = {
+            CustomerSegment.NEW_CUSTOMER, CustomerSegment.RETURNING_CUSTOMER, CustomerSegment.VIP_CUSTOMER
+    };
+
+    private final CouponRepository couponRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicLong compileGeneration = new AtomicLong();
+    private final AtomicReference<CouponIndex> index = new AtomicReference<>(CouponIndex.EMPTY);
+
+    /**
+     * Applicable coupons for the cart total and segment, best discount first.
+     */
+    public List<ApplicableCouponDTO> evaluate(BigDecimal cartTotal, CustomerSegment segment) {
+        CompiledCoupon[] candidates = currentSlice(System.currentTimeMillis()).forSegment(segment);
+
+        // Sorted by minimum order value, so the applicable coupons are a prefix of the array
+        int applicableCount = upperBound(candidates, cartTotal);
+        List<ApplicableCouponDTO> result = new ArrayList<>(applicableCount);
+        for (int i = 0; i < applicableCount; i++) {
+            CompiledCoupon coupon = candidates[i];
+            BigDecimal discount = CouponRedemptionService.calculateDiscount(
+                    coupon.discountType(), coupon.discountValue(), coupon.maxDiscountValue(), cartTotal);
+            if (discount.signum() > 0) {
+                result.add(coupon.toDto(discount));
+            }
+        }
+        result.sort(Comparator.comparing(ApplicableCouponDTO::getDiscountAmount).reversed());
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${coupons.engine.refresh-interval-ms:60000}",
+            initialDelayString = "${coupons.engine.refresh-interval-ms:60000}")
+    public void refresh() {
+        long generation = compileGeneration.incrementAndGet();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // May run from another transaction's afterCommit callback, so always use a fresh transaction
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Coupon> coupons = transactionTemplate.execute(status -> couponRepository.findByActiveTrue());
+
+        CouponIndex compiled = CouponIndex.compile(generation, coupons, System.currentTimeMillis());
+        // A slower refresh that started earlier must not replace a newer index
+        index.accumulateAndGet(compiled, (current, fresh) -> fresh.generation() > current.generation() ? fresh : current);
+        log.debug("Compiled coupon index: {} coupons, next boundary at {}",
+                compiled.coupons().size(), compiled.slice().validUntil());
+    }
+
+    /**
+     * Recompiles once the surrounding transaction commits, or immediately outside a transaction.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    private CouponSlice currentSlice(long now) {
+        CouponIndex current = index.get();
+        if (now < current.slice().validUntil()) {
+            return current.slice();
+        }
+        CouponIndex resliced = current.reslice(now);
+        index.compareAndSet(current, resliced);
+        return resliced.slice();
+    }
+
+    private static int upperBound(CompiledCoupon[] coupons, BigDecimal cartTotal) {
+        int low = 0;
+        int high = coupons.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (coupons[mid].minimumOrderValue().compareTo(cartTotal) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record CompiledCoupon(
+            Coupon source,
+            Coupon.DiscountType discountType,
+            BigDecimal discountValue,
+            BigDecimal maxDiscountValue,
+            BigDecimal minimumOrderValue,
+            CustomerSegment segment,
+            long startMillis,
+            long endMillis) {
+
+        static CompiledCoupon of(Coupon coupon) {
+            return new CompiledCoupon(
+                    coupon,
+                    coupon.getDiscountType(),
+                    coupon.getDiscountValue(),
+                    coupon.getMaxDiscountValue(),
+                    coupon.getMinimumOrderValue() != null ? coupon.getMinimumOrderValue() : BigDecimal.ZERO,
+                    coupon.getSegment() != null ? coupon.getSegment() : CustomerSegment.ALL,
+                    coupon.getStartAt() != null ? toMillis(coupon.getStartAt()) : Long.MIN_VALUE,
+                    coupon.getEndAt() != null ? toMillis(coupon.getEndAt()) : Long.MAX_VALUE);
+        }
+
+        boolean isValidAt(long now) {
+            return startMillis <= now && now <= endMillis;
+        }
+
+        ApplicableCouponDTO toDto(BigDecimal discount) {
+            return ApplicableCouponDTO.builder()
+                    .id(source.getId())
+                    .code(source.getCode())
+                    .name(source.getName())
+                    .discountType(discountType)
+                    .discountValue(discountValue)
+                    .maxDiscountValue(maxDiscountValue)
+                    .minimumOrderValue(source.getMinimumOrderValue())
+                    .endAt(source.getEndAt())
+                    .discountAmount(discount)
+                    .build();
+        }
+
+        private static long toMillis(LocalDateTime dateTime) {
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    /**
+     * Coupons valid from the slice's start until {@code validUntil} (exclusive), per customer segment.
+     */
+    private record CouponSlice(Map<CustomerSegment, CompiledCoupon[]> bySegment, long validUntil) {
+
+        CompiledCoupon[] forSegment(CustomerSegment segment) {
+            CompiledCoupon[] coupons = bySegment.get(segment);
+            return coupons != null ? coupons : new CompiledCoupon[0];
+        }
+    }
+
+    private record CouponIndex(long generation, List<CompiledCoupon> coupons, CouponSlice slice) {
+
+        static final CouponIndex EMPTY = new CouponIndex(0L, List.of(), new CouponSlice(Map.of(), Long.MIN_VALUE));
+
+        static CouponIndex compile(long generation, List<Coupon> coupons, long now) {
+            List<CompiledCoupon> compiled = coupons.stream()
+                    .filter(coupon -> !Boolean.TRUE.equals(coupon.getCodeRequired()))
+                    .filter(coupon -> coupon.getUsageLimit() == null || coupon.getUsageCount() == null
+                            || coupon.getUsageCount() < coupon.getUsageLimit())
+                    .map(CompiledCoupon::of)
+                    .filter(coupon -> coupon.endMillis() >= now)
+                    .toList();
+            return new CouponIndex(generation, compiled, slice(compiled, now));
+        }
+
+        CouponIndex reslice(long now) {
+            return new CouponIndex(generation, coupons, slice(coupons, now));
+        }
+
+        private static CouponSlice slice(List<CompiledCoupon> coupons, long now) {
+            long validUntil = Long.MAX_VALUE;
+            List<CompiledCoupon> valid = new ArrayList<>();
+            for (CompiledCoupon coupon : coupons) {
+                if (coupon.isValidAt(now)) {
+                    valid.add(coupon);
+                    if (coupon.endMillis() != Long.MAX_VALUE) {
+                        validUntil = Math.min(validUntil, coupon.endMillis() + 1);
+                    }
+                } else if (coupon.startMillis() > now) {
+                    validUntil = Math.min(validUntil, coupon.startMillis());
+                }
+            }
+
+            Map<CustomerSegment, CompiledCoupon[]> bySegment = new EnumMap<>(CustomerSegment.class);
+            for (CustomerSegment customerSegment : CUSTOMER_SEGMENTS) {
+                CompiledCoupon[] matching = valid.stream()
+                        .filter(coupon -> CustomerSegmentService.matches(coupon.segment(), customerSegment))
+                        .toArray(CompiledCoupon[]::new);
+                Arrays.sort(matching, Comparator.comparing(CompiledCoupon::minimumOrderValue));
+                bySegment.put(customerSegment, matching);
+            }
+            return new CouponSlice(Map.copyOf(bySegment), validUntil);
+        }
+    }
+}
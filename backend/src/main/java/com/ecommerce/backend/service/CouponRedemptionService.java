@@ -0,0 +1,290 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.CouponRedemptionConfig;
+import com.ecommerce.backend.exception.InvalidRequestException;
+import com.ecommerce.backend.model.Coupon;
+import com.ecommerce.backend.model.CouponCode;
+import com.ecommerce.backend.model.CouponRedemption;
+import com.ecommerce.backend.model.CouponUsageShard;
+import com.ecommerce.backend.repository.CouponCodeRepository;
+import com.ecommerce.backend.repository.CouponRedemptionRepository;
+import com.ecommerce.backend.repository.CouponRepository;
+import com.ecommerce.backend.repository.CouponUsageShardRepository;
+import com.ecommerce.backend.repository.CouponUserUsageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redeems coupons at checkout without oversubscribing them. The global usage limit is split over
+ * coupon_usage_shards so concurrent checkouts increment different rows, the per-user limit is a guarded
+ * upsert on coupon_user_usage, and every redemption is written to the coupon_redemptions ledger so a
+ * cancelled order can give its usage back exactly once. All writes join the caller's transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponRedemptionService {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final CouponRepository couponRepository;
+    private final CouponUsageShardRepository shardRepository;
+    private final CouponUserUsageRepository userUsageRepository;
+    private final CouponRedemptionRepository redemptionRepository;
+    private final CouponCodeRepository couponCodeRepository;
+    private final CustomerSegmentService customerSegmentService;
+    private final CouponRedemptionConfig redemptionConfig;
+
+    /**
+     * {@code code} is what the customer entered; {@code singleUse} is set when it is a generated coupon_codes row.
+     */
+    public record CouponQuote(Coupon coupon, String code, boolean singleUse, BigDecimal discount) {
+    }
+
+    /**
+     * Validates the coupon for this user and order subtotal and computes the discount. Takes no locks;
+     * the usage limits are only enforced by {@link #redeem(CouponQuote, UUID, UUID)}.
+     */
+    @Transactional(readOnly = true)
+    public CouponQuote quote(String code, UUID userId, BigDecimal subtotal) {
+        String normalizedCode = code.trim().toUpperCase();
+        Coupon coupon = couponRepository.findBySimpleNaturalId(normalizedCode)
+                .filter(found -> !Boolean.TRUE.equals(found.getCodeRequired()))
+                .orElse(null);
+        boolean singleUse = false;
+        if (coupon == null) {
+            CouponCode couponCode = couponCodeRepository.findById(normalizedCode)
+                    .orElseThrow(() -> new InvalidRequestException("Mã giảm giá không tồn tại: " + normalizedCode));
+            if (couponCode.getRedeemedAt() != null) {
+                throw new InvalidRequestException("Mã giảm giá đã được sử dụng");
+            }
+            coupon = couponRepository.findById(couponCode.getCouponId())
+                    .orElseThrow(() -> new InvalidRequestException("Mã giảm giá không tồn tại: " + normalizedCode));
+            singleUse = true;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!Boolean.TRUE.equals(coupon.getActive())) {
+            throw new InvalidRequestException("Mã giảm giá đã ngừng áp dụng");
+        }
+        if (coupon.getStartAt() != null && coupon.getStartAt().isAfter(now)) {
+            throw new InvalidRequestException("Mã giảm giá chưa đến thời gian áp dụng");
+        }
+        if (coupon.getEndAt() != null && coupon.getEndAt().isBefore(now)) {
+            throw new InvalidRequestException("Mã giảm giá đã hết hạn");
+        }
+        if (coupon.getMinimumOrderValue() != null && subtotal.compareTo(coupon.getMinimumOrderValue()) < 0) {
+            throw new InvalidRequestException(String.format(
+                    "Đơn hàng cần đạt tối thiểu %s để áp dụng mã giảm giá", coupon.getMinimumOrderValue()));
+        }
+        // usage_count trails the shards, so this only rejects coupons that are certainly used up
+        if (coupon.getUsageLimit() != null && coupon.getUsageCount() != null
+                && coupon.getUsageCount() >= coupon.getUsageLimit()) {
+            throw new InvalidRequestException("Mã giảm giá đã hết lượt sử dụng");
+        }
+        if (coupon.getPerUserLimit() != null && coupon.getPerUserLimit() <= 0) {
+            throw new InvalidRequestException("Bạn đã sử dụng hết số lượt cho mã giảm giá này");
+        }
+        if (coupon.getSegment() != Coupon.CustomerSegment.ALL
+                && !CustomerSegmentService.matches(coupon.getSegment(), customerSegmentService.resolveSegment(userId))) {
+            throw new InvalidRequestException("Mã giảm giá không áp dụng cho nhóm khách hàng của bạn");
+        }
+
+        return new CouponQuote(coupon, normalizedCode, singleUse, calculateDiscount(coupon, subtotal));
+    }
+
+    /**
+     * Percentage discounts are capped by maxDiscountValue; no discount exceeds the subtotal.
+     */
+    public BigDecimal calculateDiscount(Coupon coupon, BigDecimal subtotal) {
+        return calculateDiscount(
+                coupon.getDiscountType(), coupon.getDiscountValue(), coupon.getMaxDiscountValue(), subtotal);
+    }
+
+    public static BigDecimal calculateDiscount(
+            Coupon.DiscountType discountType,
+            BigDecimal discountValue,
+            BigDecimal maxDiscountValue,
+            BigDecimal subtotal) {
+        BigDecimal discount = discountType == Coupon.DiscountType.PERCENTAGE
+                ? subtotal.multiply(discountValue).divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP)
+                : discountValue;
+        if (maxDiscountValue != null) {
+            discount = discount.min(maxDiscountValue);
+        }
+        return discount.min(subtotal).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Claims the single-use code if any, takes one per-user use and one global use, and records the redemption.
+     * Throws (rolling back the caller's transaction) when any of them is exhausted. Rows are always locked in
+     * the order code, per-user, shard, here and in {@link #refund(Collection)}, so the two never deadlock.
+     */
+    @Transactional
+    public CouponRedemption redeem(CouponQuote quote, UUID userId, UUID orderId) {
+        Coupon coupon = quote.coupon();
+        UUID couponId = coupon.getId();
+
+        if (quote.singleUse()
+                && couponCodeRepository.claim(quote.code(), userId, orderId, LocalDateTime.now()) == 0) {
+            throw new InvalidRequestException("Mã giảm giá đã được sử dụng");
+        }
+
+        int perUserLimit = coupon.getPerUserLimit() != null ? coupon.getPerUserLimit() : Integer.MAX_VALUE;
+        if (userUsageRepository.tryIncrement(couponId, userId, perUserLimit) == 0) {
+            throw new InvalidRequestException("Bạn đã sử dụng hết số lượt cho mã giảm giá này");
+        }
+
+        if (!shardRepository.existsByCouponId(couponId)) {
+            provisionShards(couponId, coupon.getUsageLimit(), coupon.getUsageCount());
+        }
+        if (!takeShardUse(couponId)) {
+            throw new InvalidRequestException("Mã giảm giá đã hết lượt sử dụng");
+        }
+
+        CouponRedemption redemption = new CouponRedemption();
+        redemption.setCouponId(couponId);
+        redemption.setUserId(userId);
+        redemption.setOrderId(orderId);
+        redemption.setCouponCode(quote.singleUse() ? quote.code() : null);
+        redemption.setDiscountAmount(quote.discount());
+        redemption.setStatus(CouponRedemption.RedemptionStatus.REDEEMED);
+        return redemptionRepository.save(redemption);
+    }
+
+    /**
+     * Gives the coupon usage of cancelled or refunded orders back. Orders without a redemption, or whose
+     * redemption was already refunded, are ignored.
+     */
+    @Transactional
+    public int refund(Collection<UUID> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return 0;
+        }
+
+        List<CouponRedemption> redemptions = redemptionRepository.findRedeemedByOrderIdInForUpdate(orderIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (CouponRedemption redemption : redemptions) {
+            UUID couponId = redemption.getCouponId();
+            if (redemption.getCouponCode() != null) {
+                couponCodeRepository.release(redemption.getCouponCode(), redemption.getOrderId());
+            }
+            userUsageRepository.decrement(couponId, redemption.getUserId());
+            returnShardUse(couponId);
+            redemption.setStatus(CouponRedemption.RedemptionStatus.REFUNDED);
+            redemption.setRefundedAt(now);
+        }
+        redemptionRepository.saveAll(redemptions);
+        return redemptions.size();
+    }
+
+    /**
+     * Called after a coupon is created or its usage limit edited: redistributes the remaining budget over the
+     * shards while keeping what each shard has already used, adding shards when the coupon has too few.
+     */
+    @Transactional
+    public void rebalanceShards(Coupon coupon) {
+        List<CouponUsageShard> shards = new ArrayList<>(shardRepository.findByCouponIdForUpdate(coupon.getId()));
+        if (shards.isEmpty()) {
+            provisionShards(coupon.getId(), coupon.getUsageLimit(), coupon.getUsageCount());
+            return;
+        }
+
+        int totalUsed = shards.stream().mapToInt(CouponUsageShard::getUsed).sum();
+        Integer usageLimit = coupon.getUsageLimit();
+        if (usageLimit != null && usageLimit < totalUsed) {
+            throw new InvalidRequestException("Số lượt sử dụng hiện tại vượt quá giới hạn mới");
+        }
+
+        int remaining = usageLimit == null ? 0 : usageLimit - totalUsed;
+        int targetShards = targetShardCount(usageLimit, remaining);
+        for (int shardNo = shards.size(); shardNo < targetShards; shardNo++) {
+            shards.add(new CouponUsageShard(coupon.getId(), shardNo, 0, 0));
+        }
+
+        for (int i = 0; i < shards.size(); i++) {
+            CouponUsageShard shard = shards.get(i);
+            shard.setCapacity(usageLimit == null ? null : shard.getUsed() + share(remaining, shards.size(), i));
+        }
+        shardRepository.saveAll(shards);
+        coupon.setUsageCount(totalUsed);
+    }
+
+    @Transactional
+    public void deleteCouponState(UUID couponId) {
+        shardRepository.deleteByCouponId(couponId);
+        userUsageRepository.deleteByCouponId(couponId);
+        couponCodeRepository.deleteByCouponId(couponId);
+    }
+
+    /**
+     * Keeps coupons.usage_count (shown in the admin list and used for the quote pre-check) close to the shard sums.
+     */
+    @Scheduled(
+            fixedDelayString = "${coupons.redemption.usage-sync-interval-ms:60000}",
+            initialDelayString = "${coupons.redemption.usage-sync-interval-ms:60000}")
+    @Transactional
+    public void syncUsageCounts() {
+        int updated = couponRepository.syncUsageCountsFromShards();
+        if (updated > 0) {
+            log.debug("Synced usage_count of {} coupons from usage shards", updated);
+        }
+    }
+
+    /**
+     * Skips shards held by other checkouts first. Only when every shard with room is busy does it wait for all of
+     * them, so a shard that fills up while waited on cannot make a coupon with room elsewhere look used up.
+     */
+    private boolean takeShardUse(UUID couponId) {
+        if (shardRepository.tryIncrementFreeShard(couponId) > 0) {
+            return true;
+        }
+        List<Integer> shardNos = shardRepository.lockShardsWithRoom(couponId);
+        return !shardNos.isEmpty() && shardRepository.incrementShard(couponId, shardNos.get(0)) > 0;
+    }
+
+    private void returnShardUse(UUID couponId) {
+        if (shardRepository.tryDecrementFreeShard(couponId) > 0) {
+            return;
+        }
+        List<Integer> shardNos = shardRepository.lockShardsInUse(couponId);
+        if (!shardNos.isEmpty()) {
+            shardRepository.decrementShard(couponId, shardNos.get(0));
+        }
+    }
+
+    /**
+     * Creates shards for a coupon that has none, e.g. coupons created before sharding or inserted by seed data.
+     * Existing usage is carried by shard 0.
+     */
+    private void provisionShards(UUID couponId, Integer usageLimit, Integer usageCount) {
+        int alreadyUsed = usageCount != null ? usageCount : 0;
+        int remaining = usageLimit == null ? 0 : Math.max(usageLimit - alreadyUsed, 0);
+        int shardCount = targetShardCount(usageLimit, remaining);
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            int used = shardNo == 0 ? alreadyUsed : 0;
+            Integer capacity = usageLimit == null ? null : used + share(remaining, shardCount, shardNo);
+            shardRepository.insertIfAbsent(couponId, shardNo, capacity, used);
+        }
+    }
+
+    private int targetShardCount(Integer usageLimit, int remaining) {
+        int configured = Math.max(redemptionConfig.getShardCount(), 1);
+        return usageLimit == null ? configured : Math.min(configured, Math.max(remaining, 1));
+    }
+
+    private int share(int total, int parts, int index) {
+        return total / parts + (index < total % parts ? 1 : 0);
+    }
+}
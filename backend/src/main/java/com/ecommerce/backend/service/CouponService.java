@@ -6,6 +6,7 @@ import com.ecommerce.backend.exception.InvalidRequestException;
 import com.ecommerce.backend.exception.ResourceAlreadyExistsException;
 import com.ecommerce.backend.exception.ResourceNotFoundException;
 import com.ecommerce.backend.model.Coupon;
+import com.ecommerce.backend.repository.CouponCodeRepository;
 import com.ecommerce.backend.repository.CouponRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,10 @@ import java.util.stream.Collectors;
 public class CouponService {
 
     private final CouponRepository couponRepository;
+    private final CouponCodeRepository couponCodeRepository;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final CouponRedemptionService couponRedemptionService;
+    private final CouponEvaluationService couponEvaluationService;
 
     @Transactional(readOnly = true)
     public List<CouponResponseDTO> getAllCoupons() {
@@ -54,6 +59,9 @@ public class CouponService {
         applyRequestToEntity(coupon, request);
 
         Coupon saved = couponRepository.save(coupon);
+        couponRedemptionService.rebalanceShards(saved);
+        dashboardMetricsService.recordCouponActivation(false, Boolean.TRUE.equals(saved.getActive()));
+        couponEvaluationService.refreshAfterCommit();
         return mapToResponse(saved);
     }
 
@@ -64,8 +72,13 @@ public class CouponService {
         Coupon coupon = couponRepository.findById(couponId)
                 .orElseThrow(() -> new ResourceNotFoundException("Coupon", "id", couponId));
 
+        boolean wasActive = Boolean.TRUE.equals(coupon.getActive());
         applyRequestToEntity(coupon, request);
+        // Recomputes usageCount from the shards and rejects a limit below the real usage
+        couponRedemptionService.rebalanceShards(coupon);
         Coupon saved = couponRepository.save(coupon);
+        dashboardMetricsService.recordCouponActivation(wasActive, Boolean.TRUE.equals(saved.getActive()));
+        couponEvaluationService.refreshAfterCommit();
         return mapToResponse(saved);
     }
 
@@ -73,7 +86,10 @@ public class CouponService {
     public void deleteCoupon(UUID couponId) {
         Coupon coupon = couponRepository.findById(couponId)
                 .orElseThrow(() -> new ResourceNotFoundException("Coupon", "id", couponId));
+        couponRedemptionService.deleteCouponState(couponId);
         couponRepository.delete(coupon);
+        dashboardMetricsService.recordCouponActivation(Boolean.TRUE.equals(coupon.getActive()), false);
+        couponEvaluationService.refreshAfterCommit();
     }
 
     private void validateCouponRequest(CouponRequestDTO request, UUID couponId) {
@@ -82,7 +98,7 @@ public class CouponService {
                 ? couponRepository.existsByCodeIgnoreCase(normalizedCode)
                 : couponRepository.existsByCodeIgnoreCaseAndIdNot(normalizedCode, couponId);
 
-        if (exists) {
+        if (exists || couponCodeRepository.existsById(normalizedCode)) {
             throw new ResourceAlreadyExistsException("Coupon", "code", normalizedCode);
         }
 
@@ -151,6 +167,7 @@ public class CouponService {
                 .usageCount(coupon.getUsageCount())
                 .active(Boolean.TRUE.equals(coupon.getActive()))
                 .segment(coupon.getSegment())
+                .codeRequired(Boolean.TRUE.equals(coupon.getCodeRequired()))
                 .status(deriveStatus(coupon))
                 .startAt(toOffsetDateTime(coupon.getStartAt()))
                 .endAt(toOffsetDateTime(coupon.getEndAt()))
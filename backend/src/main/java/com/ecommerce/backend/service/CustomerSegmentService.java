@@ -0,0 +1,40 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.model.Coupon.CustomerSegment;
+import com.ecommerce.backend.repository.CustomerStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Classifies a customer for segment-restricted coupons: no non-cancelled orders yet is NEW_CUSTOMER,
+ * paid spend at or above the VIP threshold is VIP_CUSTOMER, anyone else is RETURNING_CUSTOMER.
+ * The segment is precomputed in customer_stats by {@link CustomerStatsService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerSegmentService {
+
+    private final CustomerStatsRepository customerStatsRepository;
+
+    @Transactional(readOnly = true)
+    public CustomerSegment resolveSegment(UUID userId) {
+        return customerStatsRepository.findSegmentByUserId(userId)
+                .orElse(CustomerSegment.NEW_CUSTOMER);
+    }
+
+    /**
+     * A VIP customer is also a returning customer; ALL matches everyone.
+     */
+    public static boolean matches(CustomerSegment couponSegment, CustomerSegment customerSegment) {
+        if (couponSegment == null || couponSegment == CustomerSegment.ALL) {
+            return true;
+        }
+        if (couponSegment == CustomerSegment.RETURNING_CUSTOMER) {
+            return customerSegment == CustomerSegment.RETURNING_CUSTOMER || customerSegment == CustomerSegment.VIP_CUSTOMER;
+        }
+        return couponSegment == customerSegment;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.CouponRedemptionConfig;
+import com.ecommerce.backend.config.CustomerStatsConfig;
+import com.ecommerce.backend.model.Order;
+import com.ecommerce.backend.model.Order.OrderStatus;
+import com.ecommerce.backend.model.Order.PaymentStatus;
+import com.ecommerce.backend.repository.CustomerStatsRepository;
+import com.ecommerce.backend.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains customer_stats in the same transaction as each order change, so a segment check is one primary-key read.
+ * The backfill splits customers into hash slices and rebuilds them in parallel, one transaction per slice. Each slice
+ * has a transaction-scoped advisory lock: incremental updates take it shared, the rebuild takes it exclusively,
+ * so an order placed during the backfill is neither lost nor counted twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatsService {
+
+    // First key of the two-part advisory locks guarding customer_stats slices
+    private static final int SLICE_LOCK_CLASS = 0x43535453;
+
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerStatsConfig statsConfig;
+    private final CouponRedemptionConfig redemptionConfig;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (statsConfig.isBackfillOnStartup() && customerStatsRepository.count() == 0 && orderRepository.count() > 0) {
+            backfill();
+            return;
+        }
+        int changed = new TransactionTemplate(transactionManager).execute(status ->
+                customerStatsRepository.refreshSegments(redemptionConfig.getVipLifetimeSpend()));
+        if (changed > 0) {
+            log.info("[CUSTOMER-STATS] Re-derived segment for {} customer(s)", changed);
+        }
+    }
+
+    @Transactional
+    public void recordOrderCreated(Order order) {
+        apply(List.of(order.getId()), countsTowardOrders(order.getStatus()) ? 1 : 0, 0);
+    }
+
+    @Transactional
+    public void recordOrderUpdated(Order order, OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        int countSign = Boolean.compare(countsTowardOrders(order.getStatus()), countsTowardOrders(previousStatus));
+        int spendSign = Boolean.compare(order.getPaymentStatus() == PaymentStatus.PAID,
+                previousPaymentStatus == PaymentStatus.PAID);
+        apply(List.of(order.getId()), countSign, spendSign);
+    }
+
+    /**
+     * Applies a bulk status change; only moves into or out of CANCELLED change the stats.
+     */
+    @Transactional
+    public void recordOrderStatusesChanged(Map<UUID, OrderStatus> previousStatuses, OrderStatus targetStatus) {
+        Map<Boolean, List<UUID>> byPreviouslyCounted = previousStatuses.entrySet().stream()
+                .collect(Collectors.partitioningBy(
+                        entry -> countsTowardOrders(entry.getValue()),
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        if (countsTowardOrders(targetStatus)) {
+            apply(byPreviouslyCounted.get(false), 1, 0);
+        } else {
+            apply(byPreviouslyCounted.get(true), -1, 0);
+        }
+    }
+
+    /**
+     * Rebuilds customer_stats from all orders, slices in parallel.
+     *
+     * @return number of customers written
+     */
+    public long backfill() {
+        int slices = Math.max(statsConfig.getSlices(), 1);
+        int parallelism = Math.min(Math.max(statsConfig.getBackfillParallelism(), 1), slices);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long startedAt = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("customer-stats-backfill-"));
+        try {
+            List<CompletableFuture<Integer>> rebuilt = new ArrayList<>(slices);
+            for (int slice = 0; slice < slices; slice++) {
+                int current = slice;
+                rebuilt.add(CompletableFuture.supplyAsync(
+                        () -> rebuildSlice(transactionTemplate, current, slices), workers));
+            }
+            long customers = rebuilt.stream().mapToLong(CompletableFuture::join).sum();
+            log.info("[CUSTOMER-STATS] Rebuilt {} customer(s) in {} slice(s) with {} worker(s) in {} ms",
+                    customers, slices, parallelism, (System.nanoTime() - startedAt) / 1_000_000);
+            return customers;
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private int rebuildSlice(TransactionTemplate transactionTemplate, int slice, int slices) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", resultSet -> null, SLICE_LOCK_CLASS, slice);
+            return customerStatsRepository.rebuildSlice(slice, slices,
+                    OrderStatus.CANCELLED.name(), PaymentStatus.PAID.name(), redemptionConfig.getVipLifetimeSpend());
+        });
+    }
+
+    private void apply(List<UUID> orderIds, int countSign, int spendSign) {
+        if (orderIds.isEmpty() || (countSign == 0 && spendSign == 0)) {
+            return;
+        }
+        customerStatsRepository.applyOrders(orderIds, countSign, spendSign, redemptionConfig.getVipLifetimeSpend(),
+                SLICE_LOCK_CLASS, Math.max(statsConfig.getSlices(), 1));
+    }
+
+    private static boolean countsTowardOrders(OrderStatus status) {
+        return status != OrderStatus.CANCELLED;
+    }
+}
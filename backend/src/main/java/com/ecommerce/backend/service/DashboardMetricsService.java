@@ -0,0 +1,596 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.DashboardMetricsConfig;
+import com.ecommerce.backend.dto.AdminDashboardResponseDTO;
+import com.ecommerce.backend.dto.AdminEventDTO;
+import com.ecommerce.backend.dto.AdminDashboardSummaryDTO;
+import com.ecommerce.backend.dto.RecentOrderDTO;
+import com.ecommerce.backend.dto.RevenueTrendPointDTO;
+import com.ecommerce.backend.model.Order;
+import com.ecommerce.backend.model.Order.OrderStatus;
+import com.ecommerce.backend.model.Order.PaymentStatus;
+import com.ecommerce.backend.model.Product;
+import com.ecommerce.backend.model.User;
+import com.ecommerce.backend.model.User.UserRole;
+import com.ecommerce.backend.repository.BannerRepository;
+import com.ecommerce.backend.repository.CouponRepository;
+import com.ecommerce.backend.repository.OrderRepository;
+import com.ecommerce.backend.repository.ProductRepository;
+import com.ecommerce.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory counters behind the admin dashboard. Services report their writes here (applied after commit),
+ * and the whole state is periodically rebuilt from the database to correct any drift.
+ * Time-windowed figures (30-day revenue, new customers, revenue trend) are kept in daily buckets.
+ * A rebuild fans its independent queries out over a small pool; a query that misses the deadline keeps
+ * its previous value and is reported in {@code staleMetrics}. Writes committed while a rebuild runs are
+ * replayed onto the rebuilt state, since its queries may have read before them; one that a query already saw
+ * is then counted twice until the next rebuild, which beats losing it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardMetricsService {
+
+    private static final int LOW_STOCK_THRESHOLD = 5;
+    private static final int RECENT_ORDER_LIMIT = 5;
+    private static final int REVENUE_TREND_DAYS = 7;
+    private static final int ROLLING_WINDOW_DAYS = 30;
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final BannerRepository bannerRepository;
+    private final CouponRepository couponRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final DashboardMetricsConfig metricsConfig;
+    private final AdminEventBroadcaster eventBroadcaster;
+    private final BusinessMetricsService businessMetricsService;
+
+    private volatile MetricsState state;
+    // Not a monitor: a rebuild blocks on its queries, which would pin a virtual carrier thread
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    // Guards the state swap against concurrent deltas; only held for in-memory updates
+    private final Object deltaLock = new Object();
+    private List<Consumer<MetricsState>> rebuildDeltas;
+    private ExecutorService queryExecutor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${dashboard.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.metrics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            businessMetricsService.record("dashboard.rebuild", this::rebuild);
+        } finally {
+            synchronized (deltaLock) {
+                rebuildDeltas = null;
+            }
+            reconcileLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(metricsConfig.getQueryTimeoutMs());
+        Timestamp windowStart = Timestamp.valueOf(LocalDate.now().minusDays(ROLLING_WINDOW_DAYS).atStartOfDay());
+        MetricsState previous = state;
+        MetricsState fresh = new MetricsState();
+        synchronized (deltaLock) {
+            rebuildDeltas = new ArrayList<>();
+        }
+
+        // Independent reads, each on its own read-only connection; the slowest one bounds the rebuild
+        CompletableFuture<BigDecimal> totalRevenue = submitQuery(
+                () -> orderRepository.sumTotalAmountByPaymentStatus(PaymentStatus.PAID));
+        CompletableFuture<Long> totalOrders = submitQuery(orderRepository::count);
+        CompletableFuture<Long> pendingOrders = submitQuery(() -> orderRepository.countByStatus(OrderStatus.PENDING));
+        CompletableFuture<Long> deliveredOrders = submitQuery(() -> orderRepository.countByStatus(OrderStatus.DELIVERED));
+        CompletableFuture<Long> totalCustomers = submitQuery(() -> userRepository.countByRole(UserRole.USER));
+        CompletableFuture<Long> totalProducts = submitQuery(productRepository::count);
+        CompletableFuture<Long> lowStockProducts = submitQuery(
+                () -> productRepository.countByStockQuantityLessThanEqual(LOW_STOCK_THRESHOLD));
+        CompletableFuture<Long> activeBanners = submitQuery(bannerRepository::countByActiveTrue);
+        CompletableFuture<Long> activeCoupons = submitQuery(couponRepository::countByActiveTrue);
+        CompletableFuture<List<DailyTotal>> dailyRevenue = submitQuery(() -> jdbcTemplate.query("""
+                SELECT CAST(created_at AS DATE) AS day, SUM(total_amount) AS revenue, COUNT(*) AS order_count
+                FROM orders
+                WHERE payment_status = ? AND created_at >= ?
+                GROUP BY CAST(created_at AS DATE)
+                """, (rs, rowNum) -> new DailyTotal(
+                        rs.getDate("day").toLocalDate(), safe(rs.getBigDecimal("revenue")), rs.getLong("order_count")),
+                PaymentStatus.PAID.name(), windowStart));
+        CompletableFuture<List<DailyTotal>> dailyCustomers = submitQuery(() -> jdbcTemplate.query("""
+                SELECT CAST(created_at AS DATE) AS day, COUNT(*) AS customer_count
+                FROM users
+                WHERE role = ? AND created_at >= ?
+                GROUP BY CAST(created_at AS DATE)
+                """, (rs, rowNum) -> new DailyTotal(
+                        rs.getDate("day").toLocalDate(), BigDecimal.ZERO, rs.getLong("customer_count")),
+                UserRole.USER.name(), windowStart));
+        CompletableFuture<List<RecentOrderDTO>> recentOrders = submitQuery(
+                () -> orderRepository.findTop5ByOrderByCreatedAtDesc().stream()
+                        .limit(RECENT_ORDER_LIMIT)
+                        .map(this::mapToRecentOrderDTO)
+                        .toList());
+
+        fresh.totalRevenue.set(safe(await("totalRevenue", totalRevenue, deadline, fresh,
+                previous != null ? previous.totalRevenue.get() : BigDecimal.ZERO)));
+        fresh.totalOrders.add(await("totalOrders", totalOrders, deadline, fresh, sumOf(previous, s -> s.totalOrders)));
+        fresh.pendingOrders.add(await("pendingOrders", pendingOrders, deadline, fresh, sumOf(previous, s -> s.pendingOrders)));
+        fresh.deliveredOrders.add(await("deliveredOrders", deliveredOrders, deadline, fresh, sumOf(previous, s -> s.deliveredOrders)));
+        fresh.totalCustomers.add(await("totalCustomers", totalCustomers, deadline, fresh, sumOf(previous, s -> s.totalCustomers)));
+        fresh.totalProducts.add(await("totalProducts", totalProducts, deadline, fresh, sumOf(previous, s -> s.totalProducts)));
+        fresh.lowStockProducts.add(await("lowStockProducts", lowStockProducts, deadline, fresh, sumOf(previous, s -> s.lowStockProducts)));
+        fresh.activeBanners.add(await("activeBanners", activeBanners, deadline, fresh, sumOf(previous, s -> s.activeBanners)));
+        fresh.activeCoupons.add(await("activeCoupons", activeCoupons, deadline, fresh, sumOf(previous, s -> s.activeCoupons)));
+
+        List<DailyTotal> revenueRows = await("revenue30Days", dailyRevenue, deadline, fresh, null);
+        if (revenueRows != null) {
+            revenueRows.forEach(row -> {
+                DailyBucket bucket = fresh.bucket(row.day());
+                bucket.paidRevenue.set(row.amount());
+                bucket.paidOrders.add(row.count());
+            });
+        } else if (previous != null) {
+            previous.dailyBuckets.forEach((day, bucket) -> {
+                DailyBucket copy = fresh.bucket(day);
+                copy.paidRevenue.set(bucket.paidRevenue.get());
+                copy.paidOrders.add(bucket.paidOrders.sum());
+            });
+        }
+
+        List<DailyTotal> customerRows = await("newCustomers", dailyCustomers, deadline, fresh, null);
+        if (customerRows != null) {
+            customerRows.forEach(row -> fresh.bucket(row.day()).newCustomers.add(row.count()));
+        } else if (previous != null) {
+            previous.dailyBuckets.forEach((day, bucket) -> fresh.bucket(day).newCustomers.add(bucket.newCustomers.sum()));
+        }
+
+        List<RecentOrderDTO> previousRecentOrders = List.of();
+        if (previous != null) {
+            synchronized (previous.recentOrders) {
+                previousRecentOrders = List.copyOf(previous.recentOrders);
+            }
+        }
+        fresh.recentOrders.addAll(await("recentOrders", recentOrders, deadline, fresh, previousRecentOrders));
+
+        fresh.refreshedAt = LocalDateTime.now();
+        int replayed;
+        synchronized (deltaLock) {
+            replayed = rebuildDeltas.size();
+            rebuildDeltas.forEach(update -> update.accept(fresh));
+            rebuildDeltas = null;
+            state = fresh;
+        }
+        if (replayed > 0) {
+            log.debug("[DASHBOARD] Replayed {} writes committed during the rebuild", replayed);
+        }
+        log.debug("[DASHBOARD] Metrics reconciled in {} ms (stale: {})",
+                (System.nanoTime() - startedAt) / 1_000_000, fresh.staleMetrics);
+    }
+
+    public AdminDashboardResponseDTO getDashboardOverview() {
+        MetricsState current = currentState();
+        LocalDate today = LocalDate.now();
+
+        BigDecimal revenue30Days = BigDecimal.ZERO;
+        long newCustomers = 0;
+        for (Map.Entry<LocalDate, DailyBucket> entry : current.dailyBuckets.entrySet()) {
+            if (!entry.getKey().isBefore(today.minusDays(ROLLING_WINDOW_DAYS))) {
+                revenue30Days = revenue30Days.add(entry.getValue().paidRevenue.get());
+                newCustomers += entry.getValue().newCustomers.sum();
+            }
+        }
+
+        AdminDashboardSummaryDTO summary = AdminDashboardSummaryDTO.builder()
+                .totalRevenue(current.totalRevenue.get())
+                .revenue30Days(revenue30Days)
+                .totalOrders(current.totalOrders.sum())
+                .pendingOrders(current.pendingOrders.sum())
+                .deliveredOrders(current.deliveredOrders.sum())
+                .totalCustomers(current.totalCustomers.sum())
+                .newCustomers(newCustomers)
+                .totalProducts(current.totalProducts.sum())
+                .lowStockProducts(current.lowStockProducts.sum())
+                .activeBanners(current.activeBanners.sum())
+                .activeCoupons(current.activeCoupons.sum())
+                .build();
+
+        List<RevenueTrendPointDTO> revenueTrend = new ArrayList<>(REVENUE_TREND_DAYS);
+        for (LocalDate day = today.minusDays(REVENUE_TREND_DAYS - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            DailyBucket bucket = current.dailyBuckets.get(day);
+            revenueTrend.add(RevenueTrendPointDTO.builder()
+                    .date(day)
+                    .revenue(bucket != null ? bucket.paidRevenue.get() : BigDecimal.ZERO)
+                    .orderCount(bucket != null ? bucket.paidOrders.sum() : 0)
+                    .build());
+        }
+
+        List<RecentOrderDTO> recentOrders;
+        synchronized (current.recentOrders) {
+            recentOrders = List.copyOf(current.recentOrders);
+        }
+
+        return AdminDashboardResponseDTO.builder()
+                .summary(summary)
+                .revenueTrend(revenueTrend)
+                .recentOrders(recentOrders)
+                .staleMetrics(List.copyOf(current.staleMetrics))
+                .refreshedAt(current.refreshedAt)
+                .build();
+    }
+
+    public void recordOrderCreated(Order order) {
+        // Mapped once committed, when created_at has certainly been generated by the insert
+        runAfterCommit(() -> {
+            RecentOrderDTO recentOrder = mapToRecentOrderDTO(order);
+            applyDelta(current -> {
+                current.totalOrders.increment();
+                adjustStatusCount(current, order.getStatus(), 1);
+                if (order.getPaymentStatus() == PaymentStatus.PAID) {
+                    adjustPaidRevenue(current, order.getCreatedAt(), order.getTotalAmount(), 1);
+                }
+                synchronized (current.recentOrders) {
+                    // A replay onto a rebuilt state may find the order already read by the recent-orders query
+                    current.recentOrders.removeIf(existing -> existing.getId().equals(recentOrder.getId()));
+                    current.recentOrders.add(0, recentOrder);
+                    if (current.recentOrders.size() > RECENT_ORDER_LIMIT) {
+                        current.recentOrders.remove(current.recentOrders.size() - 1);
+                    }
+                }
+            });
+            eventBroadcaster.publish(AdminEventDTO.ORDER_CREATED, recentOrder);
+        });
+    }
+
+    public void recordOrderUpdated(Order order, OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        OrderStatus status = order.getStatus();
+        PaymentStatus paymentStatus = order.getPaymentStatus();
+        afterCommit(current -> {
+            if (previousStatus != status) {
+                adjustStatusCount(current, previousStatus, -1);
+                adjustStatusCount(current, status, 1);
+            }
+            if (previousPaymentStatus != PaymentStatus.PAID && paymentStatus == PaymentStatus.PAID) {
+                adjustPaidRevenue(current, order.getCreatedAt(), order.getTotalAmount(), 1);
+            } else if (previousPaymentStatus == PaymentStatus.PAID && paymentStatus != PaymentStatus.PAID) {
+                adjustPaidRevenue(current, order.getCreatedAt(), order.getTotalAmount(), -1);
+            }
+            updateRecentOrder(current, order.getId(), status, paymentStatus);
+        });
+        runAfterCommit(() -> {
+            eventBroadcaster.publish(AdminEventDTO.ORDER_STATUS_CHANGED, AdminEventDTO.OrderStatusChange.builder()
+                    .orderId(order.getId())
+                    .previousStatus(previousStatus)
+                    .status(status)
+                    .previousPaymentStatus(previousPaymentStatus)
+                    .paymentStatus(paymentStatus)
+                    .build());
+            boolean wasPaid = previousPaymentStatus == PaymentStatus.PAID;
+            boolean isPaid = paymentStatus == PaymentStatus.PAID;
+            if (wasPaid != isPaid) {
+                MetricsState current = state;
+                eventBroadcaster.publish(AdminEventDTO.REVENUE_DELTA, AdminEventDTO.RevenueDelta.builder()
+                        .orderId(order.getId())
+                        .delta(isPaid ? safe(order.getTotalAmount()) : safe(order.getTotalAmount()).negate())
+                        .totalRevenue(current != null ? current.totalRevenue.get() : null)
+                        .build());
+            }
+        });
+    }
+
+    public void recordOrderStatusesChanged(Map<UUID, OrderStatus> previousStatuses, OrderStatus status) {
+        Map<UUID, OrderStatus> changes = Map.copyOf(previousStatuses);
+        afterCommit(current -> changes.forEach((orderId, previousStatus) -> {
+            adjustStatusCount(current, previousStatus, -1);
+            adjustStatusCount(current, status, 1);
+            updateRecentOrder(current, orderId, status, null);
+        }));
+        runAfterCommit(() -> changes.forEach((orderId, previousStatus) ->
+                eventBroadcaster.publish(AdminEventDTO.ORDER_STATUS_CHANGED, AdminEventDTO.OrderStatusChange.builder()
+                        .orderId(orderId)
+                        .previousStatus(previousStatus)
+                        .status(status)
+                        .build())));
+    }
+
+    public void recordUserCreated(User user) {
+        if (user.getRole() != UserRole.USER) {
+            return;
+        }
+        LocalDate createdDate = user.getCreatedAt() != null ? user.getCreatedAt().toLocalDate() : LocalDate.now();
+        afterCommit(current -> {
+            current.totalCustomers.increment();
+            current.bucket(createdDate).newCustomers.increment();
+        });
+    }
+
+    public void recordUserDeleted(User user) {
+        if (user.getRole() != UserRole.USER) {
+            return;
+        }
+        LocalDate createdDate = user.getCreatedAt() != null ? user.getCreatedAt().toLocalDate() : null;
+        afterCommit(current -> {
+            current.totalCustomers.decrement();
+            DailyBucket bucket = createdDate != null ? current.dailyBuckets.get(createdDate) : null;
+            if (bucket != null) {
+                bucket.newCustomers.decrement();
+            }
+        });
+    }
+
+    public void recordProductCreated(Integer stockQuantity) {
+        afterCommit(current -> {
+            current.totalProducts.increment();
+            if (isLowStock(stockQuantity)) {
+                current.lowStockProducts.increment();
+            }
+        });
+    }
+
+    public void recordProductDeleted(Integer stockQuantity) {
+        afterCommit(current -> {
+            current.totalProducts.decrement();
+            if (isLowStock(stockQuantity)) {
+                current.lowStockProducts.decrement();
+            }
+        });
+    }
+
+    public void recordStockChanged(Product product, Integer previousQuantity) {
+        Integer quantity = product.getStockQuantity();
+        boolean wasLow = isLowStock(previousQuantity);
+        boolean isLow = isLowStock(quantity);
+        if (wasLow == isLow) {
+            return;
+        }
+        afterCommit(current -> current.lowStockProducts.add(isLow ? 1 : -1));
+        if (isLow) {
+            AdminEventDTO.LowStockAlert alert = AdminEventDTO.LowStockAlert.builder()
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .sku(product.getSku())
+                    .stockQuantity(quantity)
+                    .build();
+            runAfterCommit(() -> eventBroadcaster.publish(AdminEventDTO.LOW_STOCK, alert));
+        }
+    }
+
+    public void recordBannerActivation(boolean wasActive, boolean isActive) {
+        if (wasActive != isActive) {
+            afterCommit(current -> current.activeBanners.add(isActive ? 1 : -1));
+        }
+    }
+
+    public void recordCouponActivation(boolean wasActive, boolean isActive) {
+        if (wasActive != isActive) {
+            afterCommit(current -> current.activeCoupons.add(isActive ? 1 : -1));
+        }
+    }
+
+    @PostConstruct
+    void startQueryExecutor() {
+        int parallelism = Math.max(metricsConfig.getQueryParallelism(), 1);
+        queryExecutor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("dashboard-query-"));
+    }
+
+    @PreDestroy
+    void stopQueryExecutor() {
+        queryExecutor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submitQuery(Supplier<T> query) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // Lets the driver cancel the statement server-side instead of leaving it running after we gave up
+        transactionTemplate.setTimeout((int) Math.max(TimeUnit.MILLISECONDS.toSeconds(metricsConfig.getQueryTimeoutMs()), 1));
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> query.get()), queryExecutor);
+    }
+
+    /**
+     * Waits for a fanned-out query until the shared deadline; on timeout or failure returns the fallback
+     * (normally the previous value) and marks the metric as stale.
+     */
+    private <T> T await(String metric, CompletableFuture<T> query, long deadline, MetricsState fresh, T fallback) {
+        try {
+            return query.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            query.cancel(true);
+            log.warn("[DASHBOARD] Query for '{}' exceeded {} ms, keeping previous value",
+                    metric, metricsConfig.getQueryTimeoutMs());
+        } catch (ExecutionException ex) {
+            log.warn("[DASHBOARD] Query for '{}' failed, keeping previous value: {}", metric, ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        fresh.staleMetrics.add(metric);
+        return fallback;
+    }
+
+    private long sumOf(MetricsState previous, Function<MetricsState, LongAdder> counter) {
+        return previous != null ? counter.apply(previous).sum() : 0L;
+    }
+
+    private MetricsState currentState() {
+        MetricsState current = state;
+        if (current == null) {
+            reconcileLock.lock();
+            try {
+                if (state == null) {
+                    reconcile();
+                }
+                current = state;
+            } finally {
+                reconcileLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private void afterCommit(Consumer<MetricsState> update) {
+        runAfterCommit(() -> applyDelta(update));
+    }
+
+    private void applyDelta(Consumer<MetricsState> update) {
+        synchronized (deltaLock) {
+            // Before the first reconcile there is nothing to adjust; the reconcile itself will see this write.
+            MetricsState current = state;
+            if (current != null) {
+                update.accept(current);
+            }
+            if (rebuildDeltas != null) {
+                rebuildDeltas.add(update);
+            }
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void adjustStatusCount(MetricsState current, OrderStatus status, long delta) {
+        if (status == OrderStatus.PENDING) {
+            current.pendingOrders.add(delta);
+        } else if (status == OrderStatus.DELIVERED) {
+            current.deliveredOrders.add(delta);
+        }
+    }
+
+    private void adjustPaidRevenue(MetricsState current, LocalDateTime orderCreatedAt, BigDecimal amount, int sign) {
+        BigDecimal delta = sign < 0 ? safe(amount).negate() : safe(amount);
+        current.totalRevenue.accumulateAndGet(delta, BigDecimal::add);
+
+        LocalDate day = orderCreatedAt != null ? orderCreatedAt.toLocalDate() : LocalDate.now();
+        if (day.isBefore(LocalDate.now().minusDays(ROLLING_WINDOW_DAYS))) {
+            return;
+        }
+        DailyBucket bucket = current.bucket(day);
+        bucket.paidRevenue.accumulateAndGet(delta, BigDecimal::add);
+        bucket.paidOrders.add(sign);
+    }
+
+    private void updateRecentOrder(MetricsState current, UUID orderId, OrderStatus status, PaymentStatus paymentStatus) {
+        synchronized (current.recentOrders) {
+            ListIterator<RecentOrderDTO> iterator = current.recentOrders.listIterator();
+            while (iterator.hasNext()) {
+                RecentOrderDTO recentOrder = iterator.next();
+                if (recentOrder.getId().equals(orderId)) {
+                    // Replace rather than mutate: snapshots handed to callers share these instances
+                    iterator.set(RecentOrderDTO.builder()
+                            .id(recentOrder.getId())
+                            .orderNumber(recentOrder.getOrderNumber())
+                            .customerName(recentOrder.getCustomerName())
+                            .totalAmount(recentOrder.getTotalAmount())
+                            .status(status)
+                            .paymentStatus(paymentStatus != null ? paymentStatus : recentOrder.getPaymentStatus())
+                            .createdAt(recentOrder.getCreatedAt())
+                            .build());
+                }
+            }
+        }
+    }
+
+    private RecentOrderDTO mapToRecentOrderDTO(Order order) {
+        return RecentOrderDTO.builder()
+                .id(order.getId())
+                .orderNumber(order.getOrderNumber())
+                .customerName(order.getUser() != null ? order.getUser().getFullName() : null)
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+
+    private boolean isLowStock(Integer stockQuantity) {
+        return stockQuantity != null && stockQuantity <= LOW_STOCK_THRESHOLD;
+    }
+
+    private BigDecimal safe(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static final class MetricsState {
+        private final AtomicReference<BigDecimal> totalRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        private final LongAdder totalOrders = new LongAdder();
+        private final LongAdder pendingOrders = new LongAdder();
+        private final LongAdder deliveredOrders = new LongAdder();
+        private final LongAdder totalCustomers = new LongAdder();
+        private final LongAdder totalProducts = new LongAdder();
+        private final LongAdder lowStockProducts = new LongAdder();
+        private final LongAdder activeBanners = new LongAdder();
+        private final LongAdder activeCoupons = new LongAdder();
+        private final Map<LocalDate, DailyBucket> dailyBuckets = new ConcurrentHashMap<>();
+        private final List<RecentOrderDTO> recentOrders = new ArrayList<>(RECENT_ORDER_LIMIT + 1);
+        private final Set<String> staleMetrics = new LinkedHashSet<>();
+        private LocalDateTime refreshedAt;
+
+        private DailyBucket bucket(LocalDate day) {
+            return dailyBuckets.computeIfAbsent(day, ignored -> new DailyBucket());
+        }
+    }
+
+    private record DailyTotal(LocalDate day, BigDecimal amount, long count) {
+    }
+
+    private static final class DailyBucket {
+        private final AtomicReference<BigDecimal> paidRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        private final LongAdder paidOrders = new LongAdder();
+        private final LongAdder newCustomers = new LongAdder();
+    }
+}
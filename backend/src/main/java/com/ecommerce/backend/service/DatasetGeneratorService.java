@@ -0,0 +1,572 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.DatasetGeneratorConfig;
+import com.ecommerce.backend.repository.ProductRatingStatsRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Generates a synthetic catalog, customer base and order history of configurable size and streams it into
+ * PostgreSQL with {@code COPY ... FROM STDIN}, bypassing JPA entirely.
+ * <p>
+ * Every row is derived from {@code (seed, table, index)} alone: ids, foreign keys and values come from a random
+ * generator seeded per row, so chunks can be produced in any order on any thread and the same seed always yields
+ * the same dataset. Parent tables are fully loaded before their children, and the aggregates normally kept up to
+ * date by the services (ratings, daily sales rollup, customer stats) are rebuilt at the end.
+ */
+@Service
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetGeneratorService {
+
+    private static final long CATEGORY_KEY = 1;
+    private static final long PRODUCT_KEY = 2;
+    private static final long PRODUCT_PRICE_KEY = 3;
+    private static final long USER_KEY = 4;
+    private static final long ORDER_KEY = 5;
+    private static final long ORDER_TIME_KEY = 6;
+    private static final long ORDER_ITEM_KEY = 7;
+    private static final long REVIEW_KEY = 8;
+
+    // Children first, so TRUNCATE and the emptiness check read naturally in dependency order
+    private static final List<String> GENERATED_TABLES =
+            List.of("reviews", "order_items", "orders", "products", "categories", "users");
+    private static final List<String> DERIVED_TABLES =
+            List.of("product_rating_stats", "daily_sales_rollup", "customer_stats");
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] PRODUCT_WORDS = {
+            "Áo thun", "Quần jean", "Giày thể thao", "Túi xách", "Đồng hồ", "Tai nghe", "Điện thoại", "Laptop",
+            "Bàn phím", "Chuột", "Nồi cơm điện", "Chảo chống dính", "Bình giữ nhiệt", "Ghế công thái học", "Đèn bàn",
+            "Sách", "Balo", "Mũ lưỡi trai", "Kính mát", "Sạc dự phòng"
+    };
+    private static final String[] PRODUCT_ADJECTIVES = {
+            "cao cấp", "thể thao", "chính hãng", "mini", "không dây", "chống nước", "thời trang", "giá rẻ", "phiên bản mới"
+    };
+    private static final String[] PAYMENT_METHODS = {"COD", "VNPAY", "MOMO", "BANK_TRANSFER"};
+    private static final String[] CITIES = {"TP. Hồ Chí Minh", "Hà Nội", "Đà Nẵng", "Cần Thơ", "Hải Phòng", "Huế"};
+
+    private final DatasetGeneratorConfig config;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PlatformTransactionManager transactionManager;
+    private final ProductRatingStatsRepository ratingStatsRepository;
+    private final SalesRollupService salesRollupService;
+    private final CustomerStatsService customerStatsService;
+
+    /**
+     * Writes the rows of one generated entity; an entity may expand to several rows (an order's items).
+     */
+    @FunctionalInterface
+    private interface RowGenerator {
+        void write(long index, CopyWriter out) throws SQLException;
+    }
+
+    public void generate() {
+        prepareTables();
+
+        // Relative to today, so dashboards always see recent activity; same seed and day give identical data
+        LocalDateTime reference = LocalDate.now().atStartOfDay();
+        Dataset dataset = new Dataset(config, reference, passwordEncoder.encode(config.getPassword()));
+        int threads = threads();
+        long startedAt = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("datagen-"));
+        try {
+            // Category parents reference earlier rows of the same table, so the tree goes in as one stream
+            copy(workers, "categories", "id, name, description, image_url, parent_id, display_order, created_at, updated_at",
+                    config.getCategories(), Long.MAX_VALUE, dataset::writeCategory);
+            copy(workers, "products", "id, name, description, price, discount_price, stock_quantity, sku, category_id, " +
+                    "image_url, status, rating, total_reviews, created_at, updated_at",
+                    config.getProducts(), config.getChunkSize(), dataset::writeProduct);
+            copy(workers, "users", "id, username, email, password, full_name, phone, address, role, enabled, " +
+                    "token_version, created_at, updated_at",
+                    config.getUsers(), config.getChunkSize(), dataset::writeUser);
+            copy(workers, "orders", "id, user_id, order_number, total_amount, discount_amount, shipping_address, " +
+                    "shipping_phone, shipping_name, status, payment_method, payment_status, created_at, updated_at",
+                    config.getOrders(), config.getChunkSize(), dataset::writeOrder);
+            copy(workers, "order_items", "id, order_id, product_id, product_name, product_price, quantity, subtotal, " +
+                    "order_created_at, created_at",
+                    config.getOrders(), config.getChunkSize(), dataset::writeOrderItems);
+            copy(workers, "reviews", "id, user_id, product_id, rating, comment, status, created_at, updated_at",
+                    config.getReviews(), config.getChunkSize(), dataset::writeReview);
+        } finally {
+            workers.shutdown();
+        }
+
+        refreshDerivedData(reference.toLocalDate());
+        log.info("[DATAGEN] Dataset with seed {} generated in {} s using {} worker(s)",
+                config.getSeed(), (System.nanoTime() - startedAt) / 1_000_000_000, threads);
+    }
+
+    private void prepareTables() {
+        if (config.isTruncate()) {
+            List<String> tables = new ArrayList<>(GENERATED_TABLES);
+            tables.addAll(DERIVED_TABLES);
+            // CASCADE also empties carts, payments and coupon redemptions that point at the old rows
+            jdbcTemplate.execute("TRUNCATE TABLE " + String.join(", ", tables) + " CASCADE");
+            log.info("[DATAGEN] Truncated {}", tables);
+            return;
+        }
+        for (String table : GENERATED_TABLES) {
+            Boolean hasRows = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+            if (Boolean.TRUE.equals(hasRows)) {
+                throw new IllegalStateException("Table " + table + " already has data; set datagen.truncate=true to replace it");
+            }
+        }
+    }
+
+    private int threads() {
+        int threads = config.getParallelism() > 0 ? config.getParallelism() : Runtime.getRuntime().availableProcessors();
+        // Each worker holds a pooled connection for a whole chunk; more workers than connections would only time out
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                threads = Math.min(threads, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            }
+        } catch (SQLException e) {
+            log.debug("[DATAGEN] Could not inspect the connection pool size", e);
+        }
+        return Math.max(threads, 1);
+    }
+
+    private void copy(ExecutorService workers, String table, String columns, long count, long chunkSize,
+                      RowGenerator generator) {
+        if (count <= 0) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long chunk = Math.max(chunkSize, 1);
+        List<CompletableFuture<Long>> chunks = new ArrayList<>();
+        for (long from = 0; from < count; from += chunk) {
+            long start = from;
+            long end = Math.min(from + chunk, count);
+            chunks.add(CompletableFuture.supplyAsync(() -> copyChunk(table, columns, start, end, generator), workers));
+        }
+        long rows;
+        try {
+            rows = chunks.stream().mapToLong(CompletableFuture::join).sum();
+        } catch (CompletionException e) {
+            chunks.forEach(future -> future.cancel(false));
+            throw e;
+        }
+        long elapsedMillis = Math.max((System.nanoTime() - startedAt) / 1_000_000, 1);
+        log.info("[DATAGEN] Copied {} row(s) into {} in {} ms ({} rows/s)",
+                rows, table, elapsedMillis, rows * 1000 / elapsedMillis);
+    }
+
+    private long copyChunk(String table, String columns, long from, long to, RowGenerator generator) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Losing the tail of a synthetic load on a crash is fine; waiting for WAL flushes is not
+                statement.execute("SET LOCAL synchronous_commit = off");
+            }
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+            try {
+                CopyWriter out = new CopyWriter(copyIn);
+                for (long index = from; index < to; index++) {
+                    generator.write(index, out);
+                }
+                out.flush();
+                long rows = copyIn.endCopy();
+                connection.commit();
+                return rows;
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into " + table + " failed for rows " + from + ".." + to, e);
+        }
+    }
+
+    private void refreshDerivedData(LocalDate today) {
+        long startedAt = System.nanoTime();
+        GENERATED_TABLES.forEach(table -> jdbcTemplate.execute("ANALYZE " + table));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ratingStatsRepository.seedMissingStats();
+            jdbcTemplate.update("UPDATE products p SET " +
+                    "rating = CASE WHEN s.rating_count > 0 THEN ROUND(CAST(s.rating_sum AS NUMERIC) / s.rating_count, 2) ELSE 0 END, " +
+                    "total_reviews = s.rating_count " +
+                    "FROM product_rating_stats s WHERE s.product_id = p.id");
+        });
+        if (config.getOrders() > 0) {
+            salesRollupService.backfill(today.minusDays(config.getHistoryDays()), today);
+            customerStatsService.backfill();
+        }
+        log.info("[DATAGEN] Rebuilt ratings, sales rollup and customer stats in {} ms",
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Row derivation. Pure functions of the configuration and the row index, shared by all worker threads.
+     */
+    private static final class Dataset {
+
+        private final DatasetGeneratorConfig config;
+        private final long seed;
+        private final long referenceEpochSecond;
+        private final long historySeconds;
+        private final String passwordHash;
+        private final long categoryRoots;
+
+        private Dataset(DatasetGeneratorConfig config, LocalDateTime reference, String passwordHash) {
+            this.config = config;
+            this.seed = config.getSeed();
+            this.referenceEpochSecond = reference.toEpochSecond(ZoneOffset.UTC);
+            this.historySeconds = Math.max(config.getHistoryDays(), 1) * 86_400L;
+            this.passwordHash = passwordHash;
+            this.categoryRoots = Math.max(Math.min(config.getCategoryRoots(), config.getCategories()), 1);
+        }
+
+        void writeCategory(long index, CopyWriter out) throws SQLException {
+            SplittableRandom random = random(CATEGORY_KEY, index);
+            long fanout = Math.max(config.getCategoryFanout(), 1);
+            boolean root = index < categoryRoots;
+            long createdAt = pastSecond(random);
+            out.uuid(id(CATEGORY_KEY, index))
+                    .text("Danh mục " + (index + 1))
+                    .text("Danh mục sản phẩm số " + (index + 1))
+                    .text("/assets/images/categories/" + (index % 50) + ".jpg")
+                    // Heap-style layout: category i's children are consecutive, giving a tree of depth log_fanout(n)
+                    .uuid(root ? null : id(CATEGORY_KEY, (index - categoryRoots) / fanout))
+                    .number(root ? index : (index - categoryRoots) % fanout)
+                    .timestamp(createdAt)
+                    .timestamp(createdAt)
+                    .endRow();
+        }
+
+        void writeProduct(long index, CopyWriter out) throws SQLException {
+            SplittableRandom random = random(PRODUCT_KEY, index);
+            long price = productPrice(index);
+            int statusRoll = random.nextInt(100);
+            String status = statusRoll < 95 ? "ACTIVE" : statusRoll < 98 ? "INACTIVE" : "OUT_OF_STOCK";
+            long createdAt = pastSecond(random);
+            String name = productName(random, index);
+            out.uuid(id(PRODUCT_KEY, index))
+                    .text(name)
+                    .text(name + " - sản phẩm " + PRODUCT_ADJECTIVES[random.nextInt(PRODUCT_ADJECTIVES.length)]
+                            + ", bảo hành 12 tháng, giao hàng toàn quốc.")
+                    .number(price)
+                    .number(random.nextInt(4) == 0 ? price * 80 / 100 : null)
+                    .number("OUT_OF_STOCK".equals(status) ? 0 : random.nextInt(500))
+                    .text("GEN-" + index)
+                    .uuid(config.getCategories() > 0 ? id(CATEGORY_KEY, random.nextLong(config.getCategories())) : null)
+                    .text("/assets/images/products/" + (index % 200) + ".jpg")
+                    .text(status)
+                    .number(0)
+                    .number(0)
+                    .timestamp(createdAt)
+                    .timestamp(createdAt)
+                    .endRow();
+        }
+
+        void writeUser(long index, CopyWriter out) throws SQLException {
+            SplittableRandom random = random(USER_KEY, index);
+            boolean admin = index < config.getAdmins();
+            String username = (admin ? "admin" : "user") + index;
+            long createdAt = pastSecond(random);
+            out.uuid(id(USER_KEY, index))
+                    .text(username)
+                    .text(username + "@example.com")
+                    .text(passwordHash)
+                    .text("Khách hàng " + index)
+                    .text(phone(random))
+                    .text(address(random))
+                    .text(admin ? "ADMIN" : "USER")
+                    .bool(true)
+                    .number(0)
+                    .timestamp(createdAt)
+                    .timestamp(createdAt)
+                    .endRow();
+        }
+
+        void writeOrder(long index, CopyWriter out) throws SQLException {
+            SplittableRandom random = random(ORDER_KEY, index);
+            long createdAt = orderCreatedAt(index);
+            long ageDays = (referenceEpochSecond - createdAt) / 86_400;
+            String status = orderStatus(random, ageDays);
+            String paymentMethod = PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)];
+            long[] total = {0};
+            forEachItem(index, (line, product, price, quantity) -> total[0] += price * quantity);
+            out.uuid(id(ORDER_KEY, index))
+                    .uuid(config.getUsers() > 0 ? id(USER_KEY, random.nextLong(config.getUsers())) : null)
+                    .text("GEN" + index)
+                    .number(total[0])
+                    .number(0)
+                    .text(address(random))
+                    .text(phone(random))
+                    .text("Khách hàng " + index)
+                    .text(status)
+                    .text(paymentMethod)
+                    .text(paymentStatus(status, paymentMethod))
+                    .timestamp(createdAt)
+                    .timestamp(createdAt + Math.min(ageDays, 7) * 86_400)
+                    .endRow();
+        }
+
+        void writeOrderItems(long index, CopyWriter out) throws SQLException {
+            UUID orderId = id(ORDER_KEY, index);
+            long createdAt = orderCreatedAt(index);
+            int maxItems = Math.max(config.getMaxItemsPerOrder(), 1);
+            SQLException[] failure = {null};
+            forEachItem(index, (line, product, price, quantity) -> {
+                try {
+                    out.uuid(id(ORDER_ITEM_KEY, index * maxItems + line))
+                            .uuid(orderId)
+                            .uuid(id(PRODUCT_KEY, product))
+                            .text("Sản phẩm GEN-" + product)
+                            .number(price)
+                            .number(quantity)
+                            .number(price * quantity)
+                            .timestamp(createdAt)
+                            .timestamp(createdAt)
+                            .endRow();
+                } catch (SQLException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+
+        void writeReview(long index, CopyWriter out) throws SQLException {
+            SplittableRandom random = random(REVIEW_KEY, index);
+            int ratingRoll = random.nextInt(100);
+            int rating = ratingRoll < 5 ? 1 : ratingRoll < 10 ? 2 : ratingRoll < 25 ? 3 : ratingRoll < 60 ? 4 : 5;
+            int statusRoll = random.nextInt(100);
+            String status = statusRoll < 90 ? "APPROVED" : statusRoll < 97 ? "PENDING" : "REJECTED";
+            long createdAt = pastSecond(random);
+            // order_id stays NULL: the (user, product, order) unique key then never collides
+            out.uuid(id(REVIEW_KEY, index))
+                    .uuid(id(USER_KEY, random.nextLong(Math.max(config.getUsers(), 1))))
+                    .uuid(id(PRODUCT_KEY, popularProduct(random)))
+                    .number(rating)
+                    .text("Đánh giá " + rating + " sao cho sản phẩm")
+                    .text(status)
+                    .timestamp(createdAt)
+                    .timestamp(createdAt)
+                    .endRow();
+        }
+
+        @FunctionalInterface
+        private interface ItemConsumer {
+            void accept(int line, long product, long price, int quantity);
+        }
+
+        /**
+         * Items come from their own per-order stream, so the order total and the item rows agree without sharing state.
+         */
+        private void forEachItem(long orderIndex, ItemConsumer consumer) {
+            if (config.getProducts() <= 0) {
+                return;
+            }
+            SplittableRandom random = random(ORDER_ITEM_KEY, orderIndex);
+            int lines = 1 + random.nextInt(Math.max(config.getMaxItemsPerOrder(), 1));
+            for (int line = 0; line < lines; line++) {
+                long product = popularProduct(random);
+                consumer.accept(line, product, productPrice(product), 1 + random.nextInt(3));
+            }
+        }
+
+        private long orderCreatedAt(long orderIndex) {
+            return pastSecond(random(ORDER_TIME_KEY, orderIndex));
+        }
+
+        private long productPrice(long productIndex) {
+            return 10_000L + random(PRODUCT_PRICE_KEY, productIndex).nextInt(5_000) * 1_000L;
+        }
+
+        private long popularProduct(SplittableRandom random) {
+            // u^k for k > 1 piles most picks onto low indexes, a power-law-like bestseller curve
+            long products = Math.max(config.getProducts(), 1);
+            long index = (long) (products * Math.pow(random.nextDouble(), Math.max(config.getPopularitySkew(), 1.0)));
+            return Math.min(index, products - 1);
+        }
+
+        private long pastSecond(SplittableRandom random) {
+            return referenceEpochSecond - 1 - random.nextLong(historySeconds);
+        }
+
+        private static String orderStatus(SplittableRandom random, long ageDays) {
+            int roll = random.nextInt(100);
+            if (ageDays >= 14) {
+                return roll < 85 ? "DELIVERED" : roll < 95 ? "CANCELLED" : "REFUNDED";
+            }
+            return roll < 20 ? "PENDING" : roll < 35 ? "CONFIRMED" : roll < 55 ? "PROCESSING" : roll < 80 ? "SHIPPED"
+                    : roll < 95 ? "DELIVERED" : "CANCELLED";
+        }
+
+        private static String paymentStatus(String status, String paymentMethod) {
+            return switch (status) {
+                case "DELIVERED" -> "PAID";
+                case "REFUNDED" -> "REFUNDED";
+                case "CANCELLED" -> "COD".equals(paymentMethod) ? "PENDING" : "FAILED";
+                case "PENDING" -> "PENDING";
+                // Prepaid orders are paid before they are confirmed; cash on delivery is collected at the door
+                default -> "COD".equals(paymentMethod) ? "PENDING" : "PAID";
+            };
+        }
+
+        private static String productName(SplittableRandom random, long index) {
+            return PRODUCT_WORDS[random.nextInt(PRODUCT_WORDS.length)] + " "
+                    + PRODUCT_ADJECTIVES[random.nextInt(PRODUCT_ADJECTIVES.length)] + " " + index;
+        }
+
+        private static String phone(SplittableRandom random) {
+            return "09" + (10_000_000 + random.nextInt(90_000_000));
+        }
+
+        private static String address(SplittableRandom random) {
+            return (1 + random.nextInt(500)) + " Đường số " + (1 + random.nextInt(100)) + ", "
+                    + CITIES[random.nextInt(CITIES.length)];
+        }
+
+        private SplittableRandom random(long table, long index) {
+            return new SplittableRandom(mix(mix(seed ^ table * 0x9E3779B97F4A7C15L) + index));
+        }
+
+        /**
+         * Random-looking (version 4 layout) but unique per table and index: the high half is hashed, the low half
+         * carries the index, so primary keys spread over the index like {@code GenerationType.UUID} ones do.
+         */
+        private UUID id(long table, long index) {
+            long high = mix(seed * 31 + table) ^ mix(index);
+            high = (high & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+            long low = (index & 0x00FFFFFFFFFFFFFFL) | (table << 56 & 0x3F00000000000000L) | 0x8000000000000000L;
+            return new UUID(high, low);
+        }
+
+        // SplitMix64 finalizer
+        private static long mix(long value) {
+            long z = value + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    /**
+     * Buffers rows in PostgreSQL's COPY text format and hands them to the driver in large blocks.
+     */
+    private static final class CopyWriter {
+
+        private static final int FLUSH_THRESHOLD = 1 << 16;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+        private boolean firstColumn = true;
+
+        private CopyWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        CopyWriter uuid(UUID value) {
+            return value == null ? nullValue() : raw(value.toString());
+        }
+
+        CopyWriter number(Number value) {
+            return value == null ? nullValue() : raw(value.toString());
+        }
+
+        CopyWriter number(long value) {
+            separator();
+            buffer.append(value);
+            return this;
+        }
+
+        CopyWriter bool(boolean value) {
+            return raw(value ? "t" : "f");
+        }
+
+        CopyWriter timestamp(long epochSecond) {
+            return raw(TIMESTAMP_FORMAT.format(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC)));
+        }
+
+        CopyWriter text(String value) {
+            if (value == null) {
+                return nullValue();
+            }
+            separator();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\' -> buffer.append("\\\\");
+                    case '\t' -> buffer.append("\\t");
+                    case '\n' -> buffer.append("\\n");
+                    case '\r' -> buffer.append("\\r");
+                    default -> buffer.append(c);
+                }
+            }
+            return this;
+        }
+
+        void endRow() throws SQLException {
+            buffer.append('\n');
+            firstColumn = true;
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        private CopyWriter nullValue() {
+            return raw("\\N");
+        }
+
+        private CopyWriter raw(String value) {
+            separator();
+            buffer.append(value);
+            return this;
+        }
+
+        private void separator() {
+            if (!firstColumn) {
+                buffer.append('\t');
+            }
+            firstColumn = false;
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.ecommerce.backend.service;
 import com.ecommerce.backend.config.JwtConfig;
 import com.ecommerce.backend.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -20,11 +22,29 @@ import java.util.function.Function;
 @RequiredArgsConstructor
 public class JwtService {
     
+    static final String USER_ID_CLAIM = "userId";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+    
     private final JwtConfig jwtConfig;
     
-    private SecretKey getSigningKey() {
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    /**
+     * Claims the authentication filter needs, read from a single verified parse.
+     * {@code userId} and {@code role} are null for tokens issued before they were embedded.
+     */
+    public record TokenClaims(String username, UUID userId, String role, int tokenVersion, long expiresAtMillis) {
+    }
+    
+    @PostConstruct
+    void init() {
         byte[] keyBytes = jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
     public String extractUsername(String token) {
@@ -41,21 +61,31 @@ public class JwtService {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the signature and expiry once and returns the claims used to build the principal.
+     * Throws {@link io.jsonwebtoken.JwtException} when the token is malformed, tampered with or expired.
+     */
+    public TokenClaims parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        Number version = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                userId != null ? UUID.fromString(userId) : null,
+                claims.get(ROLE_CLAIM, String.class),
+                version != null ? version.intValue() : 0,
+                claims.getExpiration().getTime()
+        );
     }
     
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", user.getId().toString());
-        claims.put("role", user.getRole().name());
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion() != null ? user.getTokenVersion() : 0);
         return createToken(claims, user.getUsername());
     }
     
@@ -68,19 +98,17 @@ public class JwtService {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        // The parser rejects expired tokens, so a successful parse only leaves the subject to compare.
+        TokenClaims claims = parseToken(token);
+        return claims.username().equals(username) && claims.expiresAtMillis() > System.currentTimeMillis();
     }
     
     public UUID extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        String userId = (String) claims.get("userId");
-        return userId != null ? UUID.fromString(userId) : null;
+        return parseToken(token).userId();
     }
 }
-
@@ -0,0 +1,398 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.model.Order;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    // Each chunk runs in its own short read-only transaction so a long export never pins an old snapshot.
+    private static final int ORDERS_PER_CHUNK = 5000;
+    private static final int FETCH_SIZE = 500;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] CSV_HEADER = {
+            "order_id", "order_number", "created_at", "status", "payment_status", "payment_method",
+            "customer_username", "customer_email", "shipping_name", "shipping_phone", "shipping_address",
+            "total_amount", "product_id", "product_name", "product_price", "quantity", "subtotal"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    public enum ExportFormat {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        ExportFormat(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+    }
+
+    public StreamingResponseBody exportOrders(
+            ExportFormat format,
+            String keyword,
+            UUID customerId,
+            Order.OrderStatus status,
+            Order.PaymentStatus paymentStatus,
+            LocalDate startDate,
+            LocalDate endDate) {
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> filterParams = new ArrayList<>();
+        buildFilter(keyword, customerId, status, paymentStatus, startDate, endDate, conditions, filterParams);
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            ExportWriter exportWriter = format == ExportFormat.CSV
+                    ? new CsvExportWriter(writer)
+                    : new NdjsonExportWriter(objectMapper.getFactory().createGenerator(writer));
+
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+
+            try {
+                exportWriter.start();
+                // Orders with a created_at first, then legacy rows without one, each walked by its own keyset
+                for (boolean nullCreatedAt : new boolean[] {false, true}) {
+                    ChunkCursor cursor = new ChunkCursor(nullCreatedAt);
+                    int exportedOrders;
+                    do {
+                        exportedOrders = Objects.requireNonNull(transactionTemplate.execute(
+                                txStatus -> exportChunk(conditions, filterParams, cursor, exportWriter)));
+                        exportWriter.flush();
+                    } while (exportedOrders == ORDERS_PER_CHUNK);
+                }
+                exportWriter.finish();
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private int exportChunk(
+            List<String> conditions,
+            List<Object> filterParams,
+            ChunkCursor cursor,
+            ExportWriter exportWriter) {
+
+        List<String> chunkConditions = new ArrayList<>(conditions);
+        List<Object> params = new ArrayList<>(filterParams);
+        if (cursor.nullCreatedAt) {
+            // A NULL created_at never compares greater than the cursor, so these rows are keyed by id alone
+            chunkConditions.add("o.created_at IS NULL");
+            if (cursor.lastOrderId != null) {
+                chunkConditions.add("o.id > ?");
+                params.add(cursor.lastOrderId);
+            }
+        } else {
+            chunkConditions.add("o.created_at IS NOT NULL");
+            if (cursor.lastOrderId != null) {
+                chunkConditions.add("(o.created_at, o.id) > (?, ?)");
+                params.add(cursor.lastCreatedAt);
+                params.add(cursor.lastOrderId);
+            }
+        }
+        params.add(ORDERS_PER_CHUNK);
+
+        String whereClause = chunkConditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", chunkConditions);
+        String sql = """
+                WITH page AS (
+                    SELECT o.id, o.order_number, o.created_at, o.status, o.payment_status, o.payment_method,
+                           u.username, u.email, o.shipping_name, o.shipping_phone, o.shipping_address, o.total_amount
+                    FROM orders o
+                    LEFT JOIN users u ON u.id = o.user_id
+                    %s
+                    ORDER BY o.created_at, o.id
+                    LIMIT ?
+                )
+                SELECT page.*, oi.product_id, oi.product_name, oi.product_price, oi.quantity, oi.subtotal
+                FROM page
+                LEFT JOIN order_items oi ON oi.order_id = page.id
+                ORDER BY page.created_at, page.id, oi.created_at
+                """.formatted(whereClause);
+
+        int[] orderCount = {0};
+        RowCallbackHandler rowHandler = rs -> {
+            UUID orderId = rs.getObject("id", UUID.class);
+            boolean newOrder = !orderId.equals(cursor.lastOrderId);
+            if (newOrder) {
+                orderCount[0]++;
+                cursor.lastOrderId = orderId;
+                cursor.lastCreatedAt = rs.getTimestamp("created_at");
+            }
+            try {
+                exportWriter.writeRow(rs, newOrder);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, rowHandler);
+
+        return orderCount[0];
+    }
+
+    private void buildFilter(
+            String keyword,
+            UUID customerId,
+            Order.OrderStatus status,
+            Order.PaymentStatus paymentStatus,
+            LocalDate startDate,
+            LocalDate endDate,
+            List<String> conditions,
+            List<Object> params) {
+
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            String likeValue = "%" + keyword.trim().toLowerCase() + "%";
+            conditions.add("(LOWER(o.order_number) LIKE ? OR LOWER(o.shipping_name) LIKE ? "
+                    + "OR LOWER(o.shipping_phone) LIKE ? OR LOWER(u.username) LIKE ? OR LOWER(u.email) LIKE ?)");
+            for (int i = 0; i < 5; i++) {
+                params.add(likeValue);
+            }
+        }
+
+        if (customerId != null) {
+            conditions.add("o.user_id = ?");
+            params.add(customerId);
+        }
+
+        if (status != null) {
+            conditions.add("o.status = ?");
+            params.add(status.name());
+        }
+
+        if (paymentStatus != null) {
+            conditions.add("o.payment_status = ?");
+            params.add(paymentStatus.name());
+        }
+
+        if (startDate != null) {
+            conditions.add("o.created_at >= ?");
+            params.add(Timestamp.valueOf(startDate.atStartOfDay()));
+        }
+
+        if (endDate != null) {
+            conditions.add("o.created_at <= ?");
+            params.add(Timestamp.valueOf(endDate.atTime(LocalTime.MAX)));
+        }
+    }
+
+    private static String formatTimestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+
+    private static String formatDecimal(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+
+    private static class ChunkCursor {
+        private final boolean nullCreatedAt;
+        private Timestamp lastCreatedAt;
+        private UUID lastOrderId;
+
+        private ChunkCursor(boolean nullCreatedAt) {
+            this.nullCreatedAt = nullCreatedAt;
+        }
+    }
+
+    private interface ExportWriter {
+
+        void start() throws IOException;
+
+        void writeRow(ResultSet rs, boolean newOrder) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static class CsvExportWriter implements ExportWriter {
+
+        private final Writer writer;
+
+        CsvExportWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writeLine(CSV_HEADER);
+        }
+
+        @Override
+        public void writeRow(ResultSet rs, boolean newOrder) throws SQLException, IOException {
+            Integer quantity = (Integer) rs.getObject("quantity");
+            writeLine(new String[] {
+                    rs.getObject("id", UUID.class).toString(),
+                    rs.getString("order_number"),
+                    formatTimestamp(rs.getTimestamp("created_at")),
+                    rs.getString("status"),
+                    rs.getString("payment_status"),
+                    rs.getString("payment_method"),
+                    rs.getString("username"),
+                    rs.getString("email"),
+                    rs.getString("shipping_name"),
+                    rs.getString("shipping_phone"),
+                    rs.getString("shipping_address"),
+                    formatDecimal(rs.getBigDecimal("total_amount")),
+                    rs.getString("product_id"),
+                    rs.getString("product_name"),
+                    formatDecimal(rs.getBigDecimal("product_price")),
+                    quantity != null ? quantity.toString() : null,
+                    formatDecimal(rs.getBigDecimal("subtotal"))
+            });
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(values[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!needsQuotes) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static class NdjsonExportWriter implements ExportWriter {
+
+        private final JsonGenerator generator;
+        private boolean orderOpen;
+
+        NdjsonExportWriter(JsonGenerator generator) {
+            this.generator = generator;
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void writeRow(ResultSet rs, boolean newOrder) throws SQLException, IOException {
+            if (newOrder) {
+                closeOrder();
+                generator.writeStartObject();
+                generator.writeStringField("orderId", rs.getObject("id", UUID.class).toString());
+                generator.writeStringField("orderNumber", rs.getString("order_number"));
+                generator.writeStringField("createdAt", formatTimestamp(rs.getTimestamp("created_at")));
+                generator.writeStringField("status", rs.getString("status"));
+                generator.writeStringField("paymentStatus", rs.getString("payment_status"));
+                generator.writeStringField("paymentMethod", rs.getString("payment_method"));
+                generator.writeStringField("customerUsername", rs.getString("username"));
+                generator.writeStringField("customerEmail", rs.getString("email"));
+                generator.writeStringField("shippingName", rs.getString("shipping_name"));
+                generator.writeStringField("shippingPhone", rs.getString("shipping_phone"));
+                generator.writeStringField("shippingAddress", rs.getString("shipping_address"));
+                generator.writeFieldName("totalAmount");
+                generator.writeNumber(rs.getBigDecimal("total_amount"));
+                generator.writeArrayFieldStart("items");
+                orderOpen = true;
+            }
+
+            if (rs.getString("product_name") != null) {
+                generator.writeStartObject();
+                generator.writeStringField("productId", rs.getString("product_id"));
+                generator.writeStringField("productName", rs.getString("product_name"));
+                generator.writeFieldName("productPrice");
+                generator.writeNumber(rs.getBigDecimal("product_price"));
+                generator.writeNumberField("quantity", rs.getInt("quantity"));
+                generator.writeFieldName("subtotal");
+                generator.writeNumber(rs.getBigDecimal("subtotal"));
+                generator.writeEndObject();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            closeOrder();
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+
+        private void closeOrder() throws IOException {
+            if (orderOpen) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                orderOpen = false;
+            }
+        }
+    }
+}
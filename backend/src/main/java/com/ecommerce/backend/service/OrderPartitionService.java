@@ -0,0 +1,177 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.OrderPartitionConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Creates upcoming monthly partitions of orders/order_items and detaches months older than the hot window.
+ * Requires the tables to be converted with database/migrations/orders_monthly_partitioning.sql.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionService {
+
+    private static final String ORDERS_TABLE = "orders";
+    private static final String ORDER_ITEMS_TABLE = "order_items";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("^(orders|order_items)_p(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderPartitionConfig partitionConfig;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${orders.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!partitionConfig.isEnabled()) {
+            return;
+        }
+        // Explicit transaction: the startup call is a self-invocation that @Transactional would not see,
+        // and a failure between the order_items and orders detach must roll both back
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> doMaintainPartitions());
+    }
+
+    private void doMaintainPartitions() {
+        if (!isPartitioned(ORDERS_TABLE) || !isPartitioned(ORDER_ITEMS_TABLE)) {
+            log.warn("[PARTITION] orders.partitioning.enabled=true but '{}'/'{}' are not partitioned tables, skipping.",
+                    ORDERS_TABLE, ORDER_ITEMS_TABLE);
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int offset = 0; offset <= partitionConfig.getMonthsAhead(); offset++) {
+            ensureMonthlyPartition(current.plusMonths(offset));
+        }
+
+        YearMonth oldestHotMonth = current.minusMonths(Math.max(partitionConfig.getHotMonths(), 1) - 1L);
+        detachPartitionsBefore(oldestHotMonth);
+    }
+
+    public List<String> listPartitions(String parentTable) {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = ?
+                ORDER BY child.relname
+                """, String.class, parentTable);
+    }
+
+    private void ensureMonthlyPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String suffix = month.format(PARTITION_SUFFIX);
+
+        // Parent first: order_items rows reference (orders.id, orders.created_at).
+        createPartitionIfMissing(ORDERS_TABLE, ORDERS_TABLE + "_p" + suffix, from, to);
+        createPartitionIfMissing(ORDER_ITEMS_TABLE, ORDER_ITEMS_TABLE + "_p" + suffix, from, to);
+    }
+
+    private void createPartitionIfMissing(String parentTable, String partitionName, LocalDate from, LocalDate to) {
+        if (tableExists(partitionName)) {
+            return;
+        }
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName, parentTable, from, to));
+        log.info("[PARTITION] Created partition {} [{} - {})", partitionName, from, to);
+    }
+
+    private void detachPartitionsBefore(YearMonth oldestHotMonth) {
+        SortedSet<YearMonth> coldMonths = new TreeSet<>();
+        coldMonths.addAll(partitionMonthsBefore(ORDER_ITEMS_TABLE, oldestHotMonth));
+        coldMonths.addAll(partitionMonthsBefore(ORDERS_TABLE, oldestHotMonth));
+
+        for (YearMonth month : coldMonths) {
+            String suffix = month.format(PARTITION_SUFFIX);
+            String itemsPartition = ORDER_ITEMS_TABLE + "_p" + suffix;
+            String ordersPartition = ORDERS_TABLE + "_p" + suffix;
+
+            // Children first. A detached partition keeps a standalone copy of the parent's foreign key,
+            // which still references the orders month and would block its detach, so drop it.
+            if (detachPartition(ORDER_ITEMS_TABLE, itemsPartition)) {
+                dropForeignKeysTo(itemsPartition, ORDERS_TABLE);
+                archivePartition(itemsPartition);
+            }
+            if (detachPartition(ORDERS_TABLE, ordersPartition)) {
+                archivePartition(ordersPartition);
+            }
+        }
+    }
+
+    private List<YearMonth> partitionMonthsBefore(String parentTable, YearMonth oldestHotMonth) {
+        return listPartitions(parentTable).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(matcher -> matcher.matches() && matcher.group(1).equals(parentTable))
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3))))
+                .filter(month -> month.isBefore(oldestHotMonth))
+                .toList();
+    }
+
+    private boolean detachPartition(String parentTable, String partitionName) {
+        if (!listPartitions(parentTable).contains(partitionName)) {
+            return false;
+        }
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", parentTable, partitionName));
+        return true;
+    }
+
+    private void dropForeignKeysTo(String table, String referencedTable) {
+        List<String> constraints = jdbcTemplate.queryForList("""
+                SELECT conname
+                FROM pg_constraint
+                WHERE conrelid = to_regclass(?) AND confrelid = to_regclass(?) AND contype = 'f'
+                """, String.class, table, referencedTable);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DROP CONSTRAINT \"%s\"", table, constraint));
+        }
+    }
+
+    private void archivePartition(String partitionName) {
+        if (partitionConfig.isArchiveColdPartitions()) {
+            String archiveSchema = partitionConfig.getArchiveSchema();
+            jdbcTemplate.execute(String.format("CREATE SCHEMA IF NOT EXISTS %s", archiveSchema));
+            jdbcTemplate.execute(String.format("ALTER TABLE %s SET SCHEMA %s", partitionName, archiveSchema));
+            log.info("[PARTITION] Archived cold partition {} to schema {}", partitionName, archiveSchema);
+        } else {
+            log.info("[PARTITION] Detached cold partition {}", partitionName);
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                WHERE c.relname = ? AND pg_table_is_visible(c.oid)
+                """, Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+}
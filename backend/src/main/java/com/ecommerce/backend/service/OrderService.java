@@ -1,6 +1,13 @@
 package com.ecommerce.backend.service;
 
+import com.ecommerce.backend.dto.CursorPageDTO;
+import com.ecommerce.backend.dto.KeysetCursor;
+import com.ecommerce.backend.dto.OrderBulkStatusRequestDTO;
+import com.ecommerce.backend.dto.OrderBulkStatusResponseDTO;
+import com.ecommerce.backend.dto.OrderBulkStatusResultDTO;
 import com.ecommerce.backend.dto.OrderDTO;
+import com.ecommerce.backend.dto.OrderHistoryItemDTO;
+import com.ecommerce.backend.dto.OrderItemDTO;
 import com.ecommerce.backend.dto.OrderRequestDTO;
 import com.ecommerce.backend.dto.OrderSummaryDTO;
 import com.ecommerce.backend.dto.OrderUpdateRequestDTO;
@@ -9,21 +16,27 @@ import com.ecommerce.backend.exception.InvalidRequestException;
 import com.ecommerce.backend.exception.ResourceNotFoundException;
 import com.ecommerce.backend.model.*;
 import com.ecommerce.backend.repository.*;
+import com.ecommerce.backend.repository.projection.OrderStatusProjection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -38,6 +51,13 @@ public class OrderService {
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final OrderItemRepository orderItemRepository;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final SalesRollupService salesRollupService;
+    private final CouponRedemptionService couponRedemptionService;
+    private final CustomerStatsService customerStatsService;
+    private final BusinessMetricsService businessMetricsService;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
 
     private static final Map<Order.OrderStatus, Set<Order.OrderStatus>> ALLOWED_STATUS_TRANSITIONS =
             new EnumMap<>(Order.OrderStatus.class);
@@ -97,10 +117,29 @@ public class OrderService {
         return page.map(OrderDTO::new);
     }
     
-    public List<OrderDTO> getAllOrdersByUserId(UUID userId) {
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .peek(this::initializeOrder)
-                .map(OrderDTO::new)
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrderHistoryItemDTO> getOrderHistory(UUID userId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<OrderHistoryItemDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderRepository.findHistoryByUserId(userId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = orderRepository.findHistoryByUserIdBefore(userId, position.getCreatedAt(), position.getId(), limit);
+        }
+
+        return CursorPageDTO.of(rows, pageSize, row -> new KeysetCursor(row.getCreatedAt(), row.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderItemDTO> getOrderItems(UUID orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new ResourceNotFoundException("Order", "id", orderId);
+        }
+        return orderItemRepository.findWithProductByOrderId(orderId).stream()
+                .map(OrderItemDTO::new)
                 .collect(Collectors.toList());
     }
     
@@ -177,6 +216,7 @@ public class OrderService {
     
     @Transactional
     public OrderDTO createOrder(UUID userId, OrderRequestDTO orderRequestDTO) {
+        long phaseStartedAt = System.nanoTime();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         
@@ -237,22 +277,39 @@ public class OrderService {
             
             // Update product stock
             Product product = cartItem.getProduct();
+            Integer previousStock = product.getStockQuantity();
             product.setStockQuantity(product.getStockQuantity() - cartItem.getQuantity());
+            dashboardMetricsService.recordStockChanged(product, previousStock);
             if (product.getStockQuantity() == 0) {
                 product.setStatus(Product.ProductStatus.OUT_OF_STOCK);
             }
             productRepository.save(product);
         }
+        // Each phase ends with a flush so its timing includes the SQL it causes
+        productRepository.flush();
+        phaseStartedAt = recordCheckoutPhase("stock_check", phaseStartedAt);
+        
+        // Validate the coupon and price the discount now; its usage is only taken at the end of checkout
+        CouponRedemptionService.CouponQuote couponQuote = null;
+        if (StringUtils.hasText(orderRequestDTO.getCouponCode())) {
+            couponQuote = couponRedemptionService.quote(orderRequestDTO.getCouponCode(), userId, totalAmount);
+            order.setCouponCode(couponQuote.code());
+            order.setDiscountAmount(couponQuote.discount());
+            totalAmount = totalAmount.subtract(couponQuote.discount());
+        }
         
         order.setTotalAmount(totalAmount);
-        Order savedOrder = orderRepository.save(order);
+        // Flushed so created_at is generated: order items carry it as part of their partition key
+        Order savedOrder = orderRepository.saveAndFlush(order);
         
         // Create order items (after order is saved)
+        List<CartItem> orderedCartItems = new ArrayList<>();
         for (UUID cartItemId : orderRequestDTO.getCartItemIds()) {
             CartItem cartItem = cartItemRepository.findById(cartItemId).orElseThrow();
             
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(savedOrder);
+            orderItem.setOrderCreatedAt(savedOrder.getCreatedAt());
             orderItem.setProduct(cartItem.getProduct());
             orderItem.setProductName(cartItem.getProduct().getName());
             
@@ -264,13 +321,31 @@ public class OrderService {
             orderItem.setSubtotal(price.multiply(BigDecimal.valueOf(cartItem.getQuantity())));
             
             orderItemRepository.save(orderItem);
-            
-            // Remove from cart
-            cartItemRepository.delete(cartItem);
+            orderedCartItems.add(cartItem);
         }
+        orderItemRepository.flush();
+        phaseStartedAt = recordCheckoutPhase("insert", phaseStartedAt);
         
+        // Remove from cart
+        cartItemRepository.deleteAll(orderedCartItems);
+        cartItemRepository.flush();
+        recordCheckoutPhase("cart_clear", phaseStartedAt);
+        
+        // Last step so the coupon's usage rows stay locked for as short a time as possible
+        if (couponQuote != null) {
+            couponRedemptionService.redeem(couponQuote, userId, savedOrder.getId());
+        }
+        
+        customerStatsService.recordOrderCreated(savedOrder);
+        dashboardMetricsService.recordOrderCreated(savedOrder);
         return new OrderDTO(savedOrder);
     }
+
+    private long recordCheckoutPhase(String phase, long startedAt) {
+        long now = System.nanoTime();
+        businessMetricsService.recordCheckoutPhase(phase, now - startedAt);
+        return now;
+    }
     
     @Transactional
     public OrderDTO updateOrder(UUID orderId, OrderUpdateRequestDTO requestDTO) {
@@ -278,6 +353,8 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         boolean hasChanges = false;
+        Order.OrderStatus previousStatus = order.getStatus();
+        Order.PaymentStatus previousPaymentStatus = order.getPaymentStatus();
 
         if (requestDTO.getStatus() != null && requestDTO.getStatus() != order.getStatus()) {
             validateStatusTransition(order.getStatus(), requestDTO.getStatus());
@@ -302,6 +379,12 @@ public class OrderService {
         }
 
         Order updatedOrder = orderRepository.save(order);
+        if (previousStatus != updatedOrder.getStatus() && releasesCoupon(updatedOrder.getStatus())) {
+            couponRedemptionService.refund(List.of(orderId));
+        }
+        salesRollupService.recordPaymentStatusChange(updatedOrder, previousPaymentStatus);
+        customerStatsService.recordOrderUpdated(updatedOrder, previousStatus, previousPaymentStatus);
+        dashboardMetricsService.recordOrderUpdated(updatedOrder, previousStatus, previousPaymentStatus);
         initializeOrder(updatedOrder);
         return new OrderDTO(updatedOrder);
     }
@@ -313,6 +396,79 @@ public class OrderService {
         return updateOrder(orderId, request);
     }
     
+    @Transactional
+    public OrderBulkStatusResponseDTO bulkUpdateOrderStatus(OrderBulkStatusRequestDTO request) {
+        Order.OrderStatus targetStatus = request.getStatus();
+        List<UUID> orderIds = request.getOrderIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<UUID, Order.OrderStatus> currentStatuses = orderRepository.findStatusesByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(OrderStatusProjection::getId, OrderStatusProjection::getStatus));
+
+        Map<UUID, OrderBulkStatusResultDTO> results = new LinkedHashMap<>();
+        List<UUID> idsToUpdate = new ArrayList<>();
+        for (UUID orderId : orderIds) {
+            Order.OrderStatus currentStatus = currentStatuses.get(orderId);
+            if (currentStatus == null) {
+                results.put(orderId, bulkFailure(orderId, null, "Không tìm thấy đơn hàng"));
+            } else if (currentStatus != targetStatus && !isTransitionAllowed(currentStatus, targetStatus)) {
+                results.put(orderId, bulkFailure(orderId, currentStatus, String.format(
+                        "Không thể chuyển trạng thái đơn hàng từ %s sang %s", currentStatus, targetStatus)));
+            } else {
+                if (currentStatus != targetStatus) {
+                    idsToUpdate.add(orderId);
+                }
+                results.put(orderId, bulkSuccess(orderId, currentStatus, targetStatus));
+            }
+        }
+
+        // Only orders this update actually changed are accounted for below, with the status they had when locked
+        Map<UUID, Order.OrderStatus> changedStatuses = new LinkedHashMap<>();
+        if (!idsToUpdate.isEmpty()) {
+            List<String> sourceStatuses = allowedSourceStatuses(targetStatus).stream().map(Enum::name).toList();
+            orderRepository.updateStatusByIdIn(idsToUpdate, sourceStatuses, targetStatus.name(), LocalDateTime.now())
+                    .forEach(changed -> changedStatuses.put(changed.getId(), changed.getStatus()));
+
+            List<UUID> untouchedIds = idsToUpdate.stream()
+                    .filter(orderId -> !changedStatuses.containsKey(orderId))
+                    .collect(Collectors.toList());
+            Map<UUID, Order.OrderStatus> latestStatuses = untouchedIds.isEmpty()
+                    ? Map.of()
+                    : orderRepository.findStatusesByIdIn(untouchedIds).stream()
+                            .collect(Collectors.toMap(OrderStatusProjection::getId, OrderStatusProjection::getStatus));
+            for (UUID orderId : idsToUpdate) {
+                Order.OrderStatus latestStatus = latestStatuses.get(orderId);
+                if (changedStatuses.containsKey(orderId)) {
+                    results.put(orderId, bulkSuccess(orderId, changedStatuses.get(orderId), targetStatus));
+                } else if (latestStatus == targetStatus) {
+                    // Another transaction made the same change first and accounted for it
+                    results.put(orderId, bulkSuccess(orderId, targetStatus, targetStatus));
+                } else {
+                    results.put(orderId, bulkFailure(orderId, latestStatus,
+                            "Trạng thái đơn hàng đã thay đổi, vui lòng thử lại"));
+                }
+            }
+        }
+
+        List<OrderBulkStatusResultDTO> resultList = new ArrayList<>(results.values());
+        if (releasesCoupon(targetStatus)) {
+            couponRedemptionService.refund(changedStatuses.keySet());
+        }
+        customerStatsService.recordOrderStatusesChanged(changedStatuses, targetStatus);
+        dashboardMetricsService.recordOrderStatusesChanged(changedStatuses, targetStatus);
+
+        int succeeded = (int) resultList.stream().filter(OrderBulkStatusResultDTO::isSuccess).count();
+        return OrderBulkStatusResponseDTO.builder()
+                .targetStatus(targetStatus)
+                .requested(resultList.size())
+                .succeeded(succeeded)
+                .failed(resultList.size() - succeeded)
+                .results(resultList)
+                .build();
+    }
+    
     @Transactional
     public OrderDTO updatePaymentStatus(UUID orderId, Order.PaymentStatus paymentStatus) {
         OrderUpdateRequestDTO request = new OrderUpdateRequestDTO();
@@ -382,16 +538,55 @@ public class OrderService {
         }
     }
 
-    private void validateStatusTransition(Order.OrderStatus current, Order.OrderStatus next) {
+    static void validateStatusTransition(Order.OrderStatus current, Order.OrderStatus next) {
         if (next == null || current == next) {
             return;
         }
-        Set<Order.OrderStatus> allowed = ALLOWED_STATUS_TRANSITIONS.getOrDefault(current, EnumSet.noneOf(Order.OrderStatus.class));
-        if (!allowed.contains(next)) {
+        if (!isTransitionAllowed(current, next)) {
             throw new InvalidRequestException(
                     String.format("Không thể chuyển trạng thái đơn hàng từ %s sang %s", current, next));
         }
     }
+
+    private boolean releasesCoupon(Order.OrderStatus status) {
+        return status == Order.OrderStatus.CANCELLED || status == Order.OrderStatus.REFUNDED;
+    }
+
+    private static boolean isTransitionAllowed(Order.OrderStatus current, Order.OrderStatus next) {
+        return ALLOWED_STATUS_TRANSITIONS.getOrDefault(current, EnumSet.noneOf(Order.OrderStatus.class))
+                .contains(next);
+    }
+
+    private Set<Order.OrderStatus> allowedSourceStatuses(Order.OrderStatus next) {
+        Set<Order.OrderStatus> sources = EnumSet.noneOf(Order.OrderStatus.class);
+        ALLOWED_STATUS_TRANSITIONS.forEach((source, targets) -> {
+            if (targets.contains(next)) {
+                sources.add(source);
+            }
+        });
+        return sources;
+    }
+
+    private OrderBulkStatusResultDTO bulkSuccess(
+            UUID orderId, Order.OrderStatus previousStatus, Order.OrderStatus status) {
+        return OrderBulkStatusResultDTO.builder()
+                .orderId(orderId)
+                .success(true)
+                .previousStatus(previousStatus)
+                .status(status)
+                .build();
+    }
+
+    private OrderBulkStatusResultDTO bulkFailure(
+            UUID orderId, Order.OrderStatus currentStatus, String message) {
+        return OrderBulkStatusResultDTO.builder()
+                .orderId(orderId)
+                .success(false)
+                .previousStatus(currentStatus)
+                .status(currentStatus)
+                .message(message)
+                .build();
+    }
     
     private String generateOrderNumber() {
         return "ORD-" + System.currentTimeMillis();
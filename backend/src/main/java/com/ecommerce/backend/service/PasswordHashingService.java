@@ -0,0 +1,136 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.PasswordHashingConfig;
+import com.ecommerce.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool so a login burst cannot occupy every request thread with hashing.
+ * The queue is bounded: when it is full the caller gets a 429 straight away instead of waiting, which also
+ * caps how many request threads can be parked on a hash at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingService {
+
+    private static final String BUSY_MESSAGE = "Hệ thống đang bận, vui lòng thử lại sau giây lát";
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingConfig hashingConfig;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Timer matchesQueueTimer;
+    private Timer encodeQueueTimer;
+    private Timer matchesTimer;
+    private Timer encodeTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void startExecutor() {
+        int threads = hashingConfig.getThreads() > 0
+                ? hashingConfig.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(hashingConfig.getQueueCapacity(), 1)),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        matchesQueueTimer = queueTimer("matches");
+        encodeQueueTimer = queueTimer("encode");
+        matchesTimer = hashTimer("matches");
+        encodeTimer = hashTimer("encode");
+        rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Hashing requests refused because the queue was full or the wait timed out")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashing requests waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesQueueTimer, matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(encodeQueueTimer, encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Whether the stored hash was made with weaker settings than the configured ones (e.g. a lower BCrypt cost).
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer queueTimer, Timer hashTimer, Supplier<T> hash) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException(BUSY_MESSAGE, 1);
+        }
+
+        try {
+            return future.get(hashingConfig.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password hashing did not finish within {} ms", hashingConfig.getTimeoutMs());
+            throw new TooManyRequestsException(BUSY_MESSAGE, 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private Timer queueTimer(String operation) {
+        return Timer.builder("auth.password.hash.queue")
+                .description("Time a hashing request waited for a thread")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private Timer hashTimer(String operation) {
+        return Timer.builder("auth.password.hash.duration")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.dto.RatingDistributionDTO;
+import com.ecommerce.backend.model.ProductRatingStats;
+import com.ecommerce.backend.model.Review;
+import com.ecommerce.backend.repository.ProductRatingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps product rating aggregates (sum, count, 1-5 star histogram) up to date with O(1) delta statements,
+ * instead of re-averaging all reviews of a product on every review write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductRatingService {
+
+    private final ProductRatingStatsRepository ratingStatsRepository;
+    private final BusinessMetricsService businessMetricsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedMissingStats() {
+        int seeded = ratingStatsRepository.seedMissingStats();
+        if (seeded > 0) {
+            log.info("[RATING] Seeded rating aggregates for {} product(s)", seeded);
+        }
+    }
+
+    @Transactional
+    public void recordReviewAdded(UUID productId, Review.ReviewStatus status, Integer rating) {
+        applyChange(productId, null, null, status, rating);
+    }
+
+    @Transactional
+    public void recordReviewRemoved(UUID productId, Review.ReviewStatus status, Integer rating) {
+        applyChange(productId, status, rating, null, null);
+    }
+
+    @Transactional
+    public void recordReviewChanged(
+            UUID productId,
+            Review.ReviewStatus previousStatus,
+            Integer previousRating,
+            Review.ReviewStatus status,
+            Integer rating) {
+        applyChange(productId, previousStatus, previousRating, status, rating);
+    }
+
+    @Transactional(readOnly = true)
+    public RatingDistributionDTO getDistribution(UUID productId) {
+        ProductRatingStats stats = ratingStatsRepository.findById(productId).orElse(null);
+
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(5, stats != null ? stats.getStar5Count() : 0L);
+        distribution.put(4, stats != null ? stats.getStar4Count() : 0L);
+        distribution.put(3, stats != null ? stats.getStar3Count() : 0L);
+        distribution.put(2, stats != null ? stats.getStar2Count() : 0L);
+        distribution.put(1, stats != null ? stats.getStar1Count() : 0L);
+
+        long count = stats != null ? stats.getRatingCount() : 0L;
+        BigDecimal average = count > 0
+                ? BigDecimal.valueOf(stats.getRatingSum()).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return RatingDistributionDTO.builder()
+                .productId(productId)
+                .averageRating(average)
+                .totalReviews(count)
+                .distribution(distribution)
+                .build();
+    }
+
+    private void applyChange(
+            UUID productId,
+            Review.ReviewStatus previousStatus,
+            Integer previousRating,
+            Review.ReviewStatus status,
+            Integer rating) {
+        long[] starDeltas = new long[6];
+        long sumDelta = 0;
+        long countDelta = 0;
+
+        if (counts(previousStatus, previousRating)) {
+            starDeltas[previousRating]--;
+            sumDelta -= previousRating;
+            countDelta--;
+        }
+        if (counts(status, rating)) {
+            starDeltas[rating]++;
+            sumDelta += rating;
+            countDelta++;
+        }
+        if (sumDelta == 0 && countDelta == 0) {
+            // Nothing counted before or after, or the same approved rating on both sides
+            return;
+        }
+
+        long deltaSum = sumDelta;
+        long deltaCount = countDelta;
+        businessMetricsService.record("review.rating.recompute", () -> {
+            ratingStatsRepository.applyDelta(productId, deltaSum, deltaCount,
+                    starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], starDeltas[5]);
+            ratingStatsRepository.syncProductRating(productId);
+        });
+    }
+
+    private boolean counts(Review.ReviewStatus status, Integer rating) {
+        return status == Review.ReviewStatus.APPROVED && rating != null && rating >= 1 && rating <= 5;
+    }
+}
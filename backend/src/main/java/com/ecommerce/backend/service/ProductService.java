@@ -33,6 +33,7 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductImageRepository productImageRepository;
+    private final DashboardMetricsService dashboardMetricsService;
     private static final int LOW_STOCK_THRESHOLD = 5;
     private static final int MINIMUM_PRODUCT_IMAGES = 5;
 
@@ -64,23 +65,27 @@ public class ProductService {
         return getProducts(null, null, null, null, pageable);
     }
     
+    @Transactional(readOnly = true)
     public ProductDTO getProductById(UUID id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
         return new ProductDTO(product);
     }
     
+    @Transactional(readOnly = true)
     public ProductDTO getProductBySku(String sku) {
         Product product = productRepository.findBySku(sku)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "sku", sku));
         return new ProductDTO(product);
     }
     
+    @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByCategory(UUID categoryId, Pageable pageable) {
         return productRepository.findByCategoryId(categoryId, pageable)
                 .map(ProductDTO::new);
     }
     
+    @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByStatus(Product.ProductStatus status, Pageable pageable) {
         return productRepository.findByStatus(status, pageable)
                 .map(ProductDTO::new);
@@ -131,16 +136,19 @@ public class ProductService {
         return pageResult.map(ProductDTO::new);
     }
     
+    @Transactional(readOnly = true)
     public Page<ProductDTO> searchProducts(String keyword, Pageable pageable) {
         return productRepository.searchProducts(keyword, pageable)
                 .map(ProductDTO::new);
     }
     
+    @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         return productRepository.findByPriceBetween(minPrice, maxPrice, pageable)
                 .map(ProductDTO::new);
     }
     
+    @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByMinRating(BigDecimal minRating, Pageable pageable) {
         return productRepository.findByMinRating(minRating, pageable)
                 .map(ProductDTO::new);
@@ -182,6 +190,7 @@ public class ProductService {
         product.setTotalReviews(0);
         
         Product savedProduct = productRepository.save(product);
+        dashboardMetricsService.recordProductCreated(savedProduct.getStockQuantity());
         
         // Add product images
         if (!productRequestDTO.getImageUrls().isEmpty()) {
@@ -247,10 +256,12 @@ public class ProductService {
         product.setDescription(productRequestDTO.getDescription());
         product.setPrice(productRequestDTO.getPrice());
         product.setDiscountPrice(productRequestDTO.getDiscountPrice());
+        Integer previousStock = product.getStockQuantity();
         product.setStockQuantity(productRequestDTO.getStockQuantity());
         product.setSku(productRequestDTO.getSku());
         product.setImageUrl(productRequestDTO.getImageUrl());
         product.setStatus(productRequestDTO.getStatus() != null ? productRequestDTO.getStatus() : product.getStatus());
+        dashboardMetricsService.recordStockChanged(product, previousStock);
         
         Product updatedProduct = productRepository.save(product);
 
@@ -274,12 +285,13 @@ public class ProductService {
     
     @Transactional
     public void deleteProduct(UUID id) {
-        if (!productRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Product", "id", id);
-        }
-        productRepository.deleteById(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        productRepository.delete(product);
+        dashboardMetricsService.recordProductDeleted(product.getStockQuantity());
     }
     
+    @Transactional(readOnly = true)
     public List<ProductDTO> getAvailableProducts() {
         return productRepository.findByStockQuantityGreaterThan(0).stream()
                 .map(ProductDTO::new)
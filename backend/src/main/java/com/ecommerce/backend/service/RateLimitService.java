@@ -0,0 +1,170 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.RateLimitConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per route group and client. Each bucket is a single {@link AtomicLong} holding the time at which it
+ * will be full again (the GCRA form of a token bucket), so taking tokens is one compare-and-set and needs no lock.
+ * A bucket whose full-again time has passed carries no information and is dropped by the periodic cleanup; when the
+ * map still reaches {@code max-tracked-clients}, arbitrary buckets are shed to keep memory bounded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitService {
+
+    private final RateLimitConfig rateLimitConfig;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private List<RouteGroup> routeGroups = List.of();
+
+    public record Route(RouteGroup group, int cost) {
+    }
+
+    public record Decision(boolean allowed, int limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    public record RouteGroup(String name, List<String> paths, int capacity, long intervalNanos, int defaultCost,
+                             List<RateLimitConfig.Cost> costs) {
+    }
+
+    @PostConstruct
+    void compileGroups() {
+        Map<String, RateLimitConfig.Group> configured = rateLimitConfig.getGroups().isEmpty()
+                ? defaultGroups()
+                : rateLimitConfig.getGroups();
+        List<RouteGroup> compiled = new ArrayList<>();
+        configured.forEach((name, group) -> {
+            int capacity = Math.max(group.getCapacity(), 1);
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(group.getRefillPerSecond(), 0.001));
+            compiled.add(new RouteGroup(name, List.copyOf(group.getPaths()), capacity, intervalNanos,
+                    Math.max(group.getDefaultCost(), 1), List.copyOf(group.getCosts())));
+        });
+        routeGroups = List.copyOf(compiled);
+    }
+
+    public boolean isEnabled() {
+        return rateLimitConfig.isEnabled() && !routeGroups.isEmpty();
+    }
+
+    /**
+     * Returns the group and cost for a request path, or {@code null} when the path is not rate limited.
+     */
+    public Route resolve(String path) {
+        for (RouteGroup group : routeGroups) {
+            for (String pattern : group.paths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return new Route(group, costOf(group, path));
+                }
+            }
+        }
+        return null;
+    }
+
+    public Decision tryAcquire(Route route, String clientKey) {
+        RouteGroup group = route.group();
+        long interval = group.intervalNanos();
+        long burst = interval * group.capacity();
+        long increment = interval * Math.min(route.cost(), group.capacity());
+        AtomicLong bucket = bucketFor(group.name() + '|' + clientKey);
+
+        while (true) {
+            long now = System.nanoTime();
+            long fullAt = bucket.get();
+            long base = Math.max(fullAt, now);
+            long nextFullAt = base + increment;
+            long backlog = nextFullAt - now;
+            if (backlog > burst) {
+                long remaining = (burst - (base - now)) / interval;
+                return new Decision(false, group.capacity(), remaining,
+                        toSeconds(base - now), Math.max(toSeconds(backlog - burst), 1));
+            }
+            if (bucket.compareAndSet(fullAt, nextFullAt)) {
+                return new Decision(true, group.capacity(), (burst - backlog) / interval, toSeconds(backlog), 0);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval-ms:60000}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        if (log.isDebugEnabled() && before != buckets.size()) {
+            log.debug("Dropped {} idle rate limit buckets, {} remain", before - buckets.size(), buckets.size());
+        }
+    }
+
+    private AtomicLong bucketFor(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        int maxSize = Math.max(rateLimitConfig.getMaxTrackedClients(), 1);
+        if (buckets.size() >= maxSize) {
+            evictFullBuckets();
+            if (buckets.size() >= maxSize) {
+                int toRemove = buckets.size() - maxSize * 3 / 4;
+                Iterator<String> keys = buckets.keySet().iterator();
+                while (toRemove-- > 0 && keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+                log.warn("Rate limiter tracked more than {} clients; shed buckets to stay bounded", maxSize);
+            }
+        }
+        // A new bucket starts full: its full-again time is already in the past.
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    private int costOf(RouteGroup group, String path) {
+        for (RateLimitConfig.Cost cost : group.costs()) {
+            if (pathMatcher.match(cost.getPath(), path)) {
+                return Math.max(cost.getCost(), 1);
+            }
+        }
+        return group.defaultCost();
+    }
+
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static Map<String, RateLimitConfig.Group> defaultGroups() {
+        Map<String, RateLimitConfig.Group> groups = new LinkedHashMap<>();
+
+        RateLimitConfig.Group auth = new RateLimitConfig.Group();
+        auth.setPaths(List.of("/api/auth/login", "/api/auth/register"));
+        auth.setCapacity(10);
+        auth.setRefillPerSecond(0.2);
+        groups.put("auth", auth);
+
+        RateLimitConfig.Group catalog = new RateLimitConfig.Group();
+        catalog.setPaths(List.of("/api/products/**", "/api/categories/**", "/api/reviews/**", "/api/banners/**"));
+        catalog.setCapacity(120);
+        catalog.setRefillPerSecond(20);
+        catalog.setCosts(List.of(
+                new RateLimitConfig.Cost("/api/products/search", 5),
+                new RateLimitConfig.Cost("/api/products/filter", 5),
+                new RateLimitConfig.Cost("/api/products", 2)
+        ));
+        groups.put("catalog", catalog);
+        return groups;
+    }
+}
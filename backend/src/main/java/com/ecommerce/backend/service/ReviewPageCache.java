@@ -0,0 +1,69 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.dto.CursorPageDTO;
+import com.ecommerce.backend.dto.ReviewDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Small LRU cache of the first review page per product, which serves almost all review traffic.
+ * Entries expire after a short TTL and are evicted on every review write of the product.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewPageCache {
+
+    private static final int MAX_PRODUCTS = 1000;
+    private static final long TTL_MILLIS = 60_000;
+
+    private final BusinessMetricsService businessMetricsService;
+
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > MAX_PRODUCTS;
+        }
+    };
+
+    public synchronized CursorPageDTO<ReviewDTO> get(UUID productId) {
+        Entry entry = entries.get(productId);
+        if (entry != null && System.currentTimeMillis() - entry.cachedAt > TTL_MILLIS) {
+            entries.remove(productId);
+            entry = null;
+        }
+        businessMetricsService.recordCacheAccess("review-page", entry != null);
+        return entry != null ? entry.page : null;
+    }
+
+    public synchronized void put(UUID productId, CursorPageDTO<ReviewDTO> page) {
+        entries.put(productId, new Entry(page, System.currentTimeMillis()));
+    }
+
+    /**
+     * Evicts now and again after commit, so a reader that loaded the page before the commit cannot leave it behind.
+     */
+    public void evict(UUID productId) {
+        remove(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(productId);
+                }
+            });
+        }
+    }
+
+    private synchronized void remove(UUID productId) {
+        entries.remove(productId);
+    }
+
+    private record Entry(CursorPageDTO<ReviewDTO> page, long cachedAt) {
+    }
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.backend.service;
 
+import com.ecommerce.backend.dto.CursorPageDTO;
+import com.ecommerce.backend.dto.KeysetCursor;
+import com.ecommerce.backend.dto.RatingDistributionDTO;
 import com.ecommerce.backend.dto.ReviewDTO;
 import com.ecommerce.backend.dto.ReviewRequestDTO;
 import com.ecommerce.backend.exception.InvalidRequestException;
@@ -13,15 +16,15 @@ import com.ecommerce.backend.repository.OrderRepository;
 import com.ecommerce.backend.repository.ProductRepository;
 import com.ecommerce.backend.repository.ReviewRepository;
 import com.ecommerce.backend.repository.UserRepository;
+import com.ecommerce.backend.repository.projection.UserNameProjection;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,16 +36,55 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
+    private final ProductRatingService productRatingService;
+    private final ReviewPageCache reviewPageCache;
     
-    public Page<ReviewDTO> getReviewsByProductId(UUID productId, Pageable pageable) {
-        return reviewRepository.findByProductIdAndStatus(productId, Review.ReviewStatus.APPROVED, pageable)
-                .map(ReviewDTO::new);
-    }
+    private static final int DEFAULT_REVIEW_PAGE_SIZE = 10;
+    private static final int MAX_REVIEW_PAGE_SIZE = 50;
     
-    public List<ReviewDTO> getAllReviewsByProductId(UUID productId) {
-        return reviewRepository.findByProductIdAndStatus(productId, Review.ReviewStatus.APPROVED).stream()
-                .map(ReviewDTO::new)
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewDTO> getReviewPage(UUID productId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_REVIEW_PAGE_SIZE);
+        boolean firstPage = cursor == null || cursor.isBlank();
+        boolean cacheable = firstPage && pageSize == DEFAULT_REVIEW_PAGE_SIZE;
+        if (cacheable) {
+            CursorPageDTO<ReviewDTO> cached = reviewPageCache.get(productId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
+        String productName = productRepository.findById(productId)
+                .map(Product::getName)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        
+        Limit limit = Limit.of(pageSize + 1);
+        List<Review> rows;
+        if (firstPage) {
+            rows = reviewRepository.findPageByProductIdAndStatus(productId, Review.ReviewStatus.APPROVED, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = reviewRepository.findPageByProductIdAndStatusBefore(
+                    productId, Review.ReviewStatus.APPROVED, position.getCreatedAt(), position.getId(), limit);
+        }
+        
+        // One query for all authors of the page instead of initializing each lazy user
+        Set<UUID> userIds = rows.stream()
+                .map(review -> review.getUser().getId())
+                .collect(Collectors.toSet());
+        Map<UUID, String> usernames = userIds.isEmpty() ? Map.of() : userRepository.findUsernamesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserNameProjection::getId, UserNameProjection::getUsername));
+        
+        List<ReviewDTO> dtos = rows.stream()
+                .map(review -> new ReviewDTO(review, usernames.get(review.getUser().getId()), productName))
                 .collect(Collectors.toList());
+        CursorPageDTO<ReviewDTO> page = CursorPageDTO.of(dtos, pageSize,
+                dto -> new KeysetCursor(dto.getCreatedAt(), dto.getId()));
+        
+        if (cacheable) {
+            reviewPageCache.put(productId, page);
+        }
+        return page;
     }
     
     public ReviewDTO getReviewById(UUID id) {
@@ -91,7 +133,8 @@ public class ReviewService {
         Review savedReview = reviewRepository.save(review);
         
         // Update product rating
-        updateProductRating(product.getId());
+        productRatingService.recordReviewAdded(product.getId(), savedReview.getStatus(), savedReview.getRating());
+        reviewPageCache.evict(product.getId());
         
         return new ReviewDTO(savedReview);
     }
@@ -101,13 +144,16 @@ public class ReviewService {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "id", reviewId));
         
+        Integer previousRating = review.getRating();
         review.setRating(reviewRequestDTO.getRating());
         review.setComment(reviewRequestDTO.getComment());
         
         Review updatedReview = reviewRepository.save(review);
         
         // Update product rating
-        updateProductRating(review.getProduct().getId());
+        productRatingService.recordReviewChanged(review.getProduct().getId(),
+                review.getStatus(), previousRating, review.getStatus(), review.getRating());
+        reviewPageCache.evict(review.getProduct().getId());
         
         return new ReviewDTO(updatedReview);
     }
@@ -121,23 +167,12 @@ public class ReviewService {
         reviewRepository.delete(review);
         
         // Update product rating
-        updateProductRating(productId);
+        productRatingService.recordReviewRemoved(productId, review.getStatus(), review.getRating());
+        reviewPageCache.evict(productId);
     }
     
-    private void updateProductRating(UUID productId) {
-        BigDecimal averageRating = reviewRepository.calculateAverageRatingByProductId(productId);
-        long totalReviews = reviewRepository.countApprovedReviewsByProductId(productId);
-        
-        Product product = productRepository.findById(productId).orElseThrow();
-        
-        if (averageRating != null) {
-            product.setRating(averageRating.setScale(2, RoundingMode.HALF_UP));
-        } else {
-            product.setRating(BigDecimal.ZERO);
-        }
-        product.setTotalReviews((int) totalReviews);
-        
-        productRepository.save(product);
+    public RatingDistributionDTO getRatingDistribution(UUID productId) {
+        return productRatingService.getDistribution(productId);
     }
 }
 
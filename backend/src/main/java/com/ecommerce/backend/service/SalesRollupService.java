@@ -0,0 +1,177 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.SalesRollupConfig;
+import com.ecommerce.backend.dto.RevenueTrendPointDTO;
+import com.ecommerce.backend.dto.RevenueTrendResponseDTO;
+import com.ecommerce.backend.exception.InvalidRequestException;
+import com.ecommerce.backend.model.DailySalesRollup;
+import com.ecommerce.backend.model.Order;
+import com.ecommerce.backend.model.Order.PaymentStatus;
+import com.ecommerce.backend.repository.DailySalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains daily_sales_rollup: orders are added when their payment becomes PAID and removed when it leaves PAID,
+ * in the same transaction as the payment change. Trends are read from rollup rows only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupService {
+
+    private final DailySalesRollupRepository rollupRepository;
+    private final SalesRollupConfig rollupConfig;
+    private final PlatformTransactionManager transactionManager;
+
+    public enum TrendGranularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        private LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        private LocalDate next(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rollupConfig.isBackfillOnStartup() && rollupRepository.count() == 0) {
+            LocalDate firstSalesDate = rollupRepository.findFirstSalesDate(PaymentStatus.PAID.name());
+            if (firstSalesDate != null) {
+                backfill(firstSalesDate, LocalDate.now());
+            }
+        }
+    }
+
+    @Transactional
+    public void recordPaymentStatusChange(Order order, PaymentStatus previousPaymentStatus) {
+        boolean wasPaid = previousPaymentStatus == PaymentStatus.PAID;
+        boolean isPaid = order.getPaymentStatus() == PaymentStatus.PAID;
+        if (wasPaid == isPaid) {
+            return;
+        }
+        int sign = isPaid ? 1 : -1;
+        rollupRepository.applyOrderTotal(order.getId(), DailySalesRollup.ALL_CATEGORIES, sign);
+        rollupRepository.applyOrderCategories(order.getId(), sign);
+    }
+
+    /**
+     * Recomputes rollup rows for [startDate, endDate] from paid orders, one transaction per chunk of days.
+     *
+     * @return number of days rebuilt
+     */
+    public long backfill(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new InvalidRequestException("Khoảng thời gian tổng hợp doanh thu không hợp lệ");
+        }
+        int chunkDays = Math.max(rollupConfig.getBackfillChunkDays(), 1);
+        LocalDate exclusiveEnd = endDate.plusDays(1);
+        long startedAt = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        LocalDate chunkStart = startDate;
+        while (chunkStart.isBefore(exclusiveEnd)) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays).isBefore(exclusiveEnd)
+                    ? chunkStart.plusDays(chunkDays)
+                    : exclusiveEnd;
+            rebuildRange(transactionTemplate, chunkStart, chunkEnd);
+            chunkStart = chunkEnd;
+        }
+
+        long days = exclusiveEnd.toEpochDay() - startDate.toEpochDay();
+        log.info("[ROLLUP] Rebuilt daily_sales_rollup for {} day(s) from {} to {} in {} ms",
+                days, startDate, endDate, (System.nanoTime() - startedAt) / 1_000_000);
+        return days;
+    }
+
+    @Transactional(readOnly = true)
+    public RevenueTrendResponseDTO getRevenueTrend(int days, TrendGranularity granularity, UUID categoryId) {
+        if (days < 1 || days > rollupConfig.getMaxTrendDays()) {
+            throw new InvalidRequestException(String.format(
+                    "Số ngày thống kê phải từ 1 đến %d", rollupConfig.getMaxTrendDays()));
+        }
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(days - 1L);
+
+        Map<LocalDate, RevenueTrendPointDTO> points = new LinkedHashMap<>();
+        for (LocalDate bucket = granularity.bucketStart(startDate); !bucket.isAfter(endDate); bucket = granularity.next(bucket)) {
+            points.put(bucket, RevenueTrendPointDTO.builder()
+                    .date(bucket)
+                    .revenue(BigDecimal.ZERO)
+                    .build());
+        }
+
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        long totalOrders = 0;
+        long totalItems = 0;
+        UUID rollupCategory = categoryId != null ? categoryId : DailySalesRollup.ALL_CATEGORIES;
+        for (DailySalesRollup row : rollupRepository.findByCategoryIdAndSalesDateBetweenOrderBySalesDateAsc(
+                rollupCategory, startDate, endDate)) {
+            RevenueTrendPointDTO point = points.get(granularity.bucketStart(row.getSalesDate()));
+            if (point == null) {
+                continue;
+            }
+            point.setRevenue(point.getRevenue().add(row.getRevenue()));
+            point.setOrderCount(point.getOrderCount() + row.getOrderCount());
+            point.setItemCount(point.getItemCount() + row.getItemCount());
+            totalRevenue = totalRevenue.add(row.getRevenue());
+            totalOrders += row.getOrderCount();
+            totalItems += row.getItemCount();
+        }
+
+        return RevenueTrendResponseDTO.builder()
+                .granularity(granularity)
+                .startDate(startDate)
+                .endDate(endDate)
+                .categoryId(categoryId)
+                .totalRevenue(totalRevenue)
+                .totalOrders(totalOrders)
+                .totalItems(totalItems)
+                .points(new ArrayList<>(points.values()))
+                .build();
+    }
+
+    private void rebuildRange(TransactionTemplate transactionTemplate, LocalDate startDate, LocalDate endDate) {
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.lockForRebuild();
+            rollupRepository.deleteRange(startDate, endDate);
+            rollupRepository.insertTotalsForRange(
+                    DailySalesRollup.ALL_CATEGORIES,
+                    PaymentStatus.PAID.name(),
+                    startDate.atStartOfDay(),
+                    endDate.atStartOfDay());
+            rollupRepository.insertCategoriesForRange(
+                    PaymentStatus.PAID.name(),
+                    startDate.atStartOfDay(),
+                    endDate.atStartOfDay());
+        });
+    }
+}
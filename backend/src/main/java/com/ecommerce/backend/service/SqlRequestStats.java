@@ -0,0 +1,85 @@
+package com.ecommerce.backend.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC activity of one unit of work on one thread, normally an HTTP request. The monitored DataSource records into
+ * whatever is bound to the current thread; tests can bind one directly to assert on the statements a call issues.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private int statements;
+    private long rows;
+    private long executionNanos;
+    // Keyed by the SQL text as executed; prepared statements repeat the exact same string
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    public record RepeatedStatement(String shape, int count) {
+    }
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public void recordStatement(String sql, long nanos) {
+        statements++;
+        executionNanos += nanos;
+        if (sql != null) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    /**
+     * The statement shape (literals and IN lists collapsed) executed most often, or null when nothing ran.
+     */
+    public RepeatedStatement mostRepeated() {
+        Map<String, Integer> shapes = new HashMap<>();
+        executions.forEach((sql, count) -> shapes.merge(shape(sql), count, Integer::sum));
+        return shapes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue()))
+                .orElse(null);
+    }
+
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+}
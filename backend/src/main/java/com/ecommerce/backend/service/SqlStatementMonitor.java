@@ -0,0 +1,136 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.SqlMonitoringConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Turns the {@link SqlRequestStats} of finished requests into per-endpoint metrics, N+1 warnings and budget checks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementMonitor {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final SqlMonitoringConfig monitoringConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ThrottledWarning> warnings = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return monitoringConfig.isEnabled();
+    }
+
+    /**
+     * @throws IllegalStateException when the endpoint's statement budget is exceeded and
+     *                               {@code sql.monitoring.fail-on-budget-exceeded} is set
+     */
+    public void record(String method, String uri, SqlRequestStats stats) {
+        Tags tags = Tags.of("method", method, "uri", uri);
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .baseUnit("statements")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000.0)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .description("Rows read from JDBC result sets per HTTP request")
+                .baseUnit("rows")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        String endpoint = method + " " + uri;
+        SqlRequestStats.RepeatedStatement repeated = stats.mostRepeated();
+        if (repeated != null && repeated.count() > monitoringConfig.getRepeatedStatementThreshold()) {
+            Counter.builder("http.server.requests.sql.repeated")
+                    .description("Requests that ran one statement shape more often than the N+1 threshold")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            long suppressed = tryWarn("n+1 " + endpoint + " " + repeated.shape());
+            if (suppressed >= 0) {
+                log.warn("[SQL] Possible N+1 in {}: statement ran {} times ({} statements, {} rows, {} ms in JDBC, "
+                                + "{} more since last warning): {}",
+                        endpoint, repeated.count(), stats.getStatements(), stats.getRows(),
+                        TimeUnit.NANOSECONDS.toMillis(stats.getExecutionNanos()), suppressed,
+                        abbreviate(repeated.shape()));
+            }
+        }
+
+        int budget = monitoringConfig.getBudgets().getOrDefault(endpoint, monitoringConfig.getDefaultBudget());
+        if (budget > 0 && stats.getStatements() > budget) {
+            Counter.builder("http.server.requests.sql.over.budget")
+                    .description("Requests that executed more statements than their endpoint's budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            String message = String.format("%s executed %d SQL statements, budget is %d",
+                    endpoint, stats.getStatements(), budget);
+            if (monitoringConfig.isFailOnBudgetExceeded()) {
+                throw new IllegalStateException(message);
+            }
+            long suppressed = tryWarn("budget " + endpoint);
+            if (suppressed >= 0) {
+                log.warn("[SQL] {} ({} more since last warning)", message, suppressed);
+            }
+        }
+    }
+
+    /**
+     * Returns how many warnings for this key were suppressed since the last one was logged, or -1 when this one
+     * falls inside the warning interval and should be suppressed too.
+     */
+    private long tryWarn(String key) {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(monitoringConfig.getWarningIntervalMs());
+        if (intervalNanos <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        ThrottledWarning warning = warnings.computeIfAbsent(key, ignored -> new ThrottledWarning(now));
+        long nextAllowedAt = warning.nextAllowedAt.get();
+        if (now - nextAllowedAt >= 0 && warning.nextAllowedAt.compareAndSet(nextAllowedAt, now + intervalNanos)) {
+            return warning.suppressed.sumThenReset();
+        }
+        warning.suppressed.increment();
+        return -1;
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private static final class ThrottledWarning {
+        private final AtomicLong nextAllowedAt;
+        private final LongAdder suppressed = new LongAdder();
+
+        private ThrottledWarning(long now) {
+            this.nextAllowedAt = new AtomicLong(now);
+        }
+    }
+}
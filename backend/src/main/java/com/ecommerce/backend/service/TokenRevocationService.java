@@ -0,0 +1,155 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.JwtConfig;
+import com.ecommerce.backend.repository.UserRepository;
+import com.ecommerce.backend.repository.projection.UserTokenStateProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory revocation state checked on every authenticated request instead of loading the user.
+ * Holds only the exceptions: users whose token version was bumped and users who may no longer sign in.
+ * Loaded from the users table at startup and kept current by UserService after its writes commit.
+ * That only covers writes made by this instance, so each user's token version, role and enabled flag are
+ * also re-read from the database once per {@code jwt.revocation-recheck-ms}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final JwtConfig jwtConfig;
+
+    private final Map<UUID, Integer> minimumVersions = new ConcurrentHashMap<>();
+    private final Set<UUID> blockedUsers = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, CheckedState> checkedStates = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRevocations() {
+        List<UserTokenStateProjection> states = userRepository.findTokenStatesToEnforce();
+        for (UserTokenStateProjection state : states) {
+            if (state.getTokenVersion() != null && state.getTokenVersion() > 0) {
+                minimumVersions.merge(state.getId(), state.getTokenVersion(), Math::max);
+            }
+            if (!Boolean.TRUE.equals(state.getEnabled())) {
+                blockedUsers.add(state.getId());
+            }
+        }
+        log.info("Loaded token revocation state for {} users", states.size());
+    }
+
+    public boolean isRevoked(JwtService.TokenClaims claims) {
+        UUID userId = claims.userId();
+        if (blockedUsers.contains(userId)) {
+            return true;
+        }
+        Integer minimumVersion = minimumVersions.get(userId);
+        if (minimumVersion != null && claims.tokenVersion() < minimumVersion) {
+            return true;
+        }
+
+        CheckedState state = checkedState(userId);
+        if (state == null) {
+            return false;
+        }
+        return !state.exists()
+                || !state.enabled()
+                || claims.tokenVersion() < state.tokenVersion()
+                || (claims.role() != null && !state.role().equals(claims.role()));
+    }
+
+    /**
+     * Rejects tokens carrying a lower version than {@code tokenVersion}, once the surrounding transaction commits.
+     */
+    public void recordTokenVersion(UUID userId, int tokenVersion) {
+        afterCommit(() -> {
+            minimumVersions.merge(userId, tokenVersion, Math::max);
+            checkedStates.remove(userId);
+        });
+    }
+
+    public void blockUser(UUID userId) {
+        afterCommit(() -> {
+            blockedUsers.add(userId);
+            checkedStates.remove(userId);
+        });
+    }
+
+    public void unblockUser(UUID userId) {
+        afterCommit(() -> {
+            blockedUsers.remove(userId);
+            checkedStates.remove(userId);
+        });
+    }
+
+    /**
+     * Returns the user's state as last read from the database, re-reading it once it is older than the recheck
+     * interval, or {@code null} when re-checking is disabled. At most {@code jwt.verified-cache-size} users are kept:
+     * when full, entries due for a re-read are dropped first, then an arbitrary quarter of the rest.
+     */
+    private CheckedState checkedState(UUID userId) {
+        long recheckNanos = TimeUnit.MILLISECONDS.toNanos(jwtConfig.getRevocationRecheckMs());
+        if (recheckNanos <= 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        CheckedState state = checkedStates.get(userId);
+        if (state != null && now - state.checkedAtNanos() < recheckNanos) {
+            return state;
+        }
+
+        CheckedState fresh = userRepository.findTokenStateById(userId)
+                .map(row -> new CheckedState(true,
+                        row.getTokenVersion() != null ? row.getTokenVersion() : 0,
+                        Boolean.TRUE.equals(row.getEnabled()),
+                        row.getRole() != null ? row.getRole().name() : "",
+                        now))
+                .orElseGet(() -> new CheckedState(false, 0, false, "", now));
+        int maxSize = Math.max(jwtConfig.getVerifiedCacheSize(), 1);
+        if (!checkedStates.containsKey(userId) && checkedStates.size() >= maxSize) {
+            checkedStates.values().removeIf(cached -> now - cached.checkedAtNanos() >= recheckNanos);
+            if (checkedStates.size() >= maxSize) {
+                int toRemove = checkedStates.size() - maxSize * 3 / 4;
+                Iterator<UUID> keys = checkedStates.keySet().iterator();
+                while (toRemove-- > 0 && keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+        }
+        checkedStates.put(userId, fresh);
+        return fresh;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record CheckedState(boolean exists, int tokenVersion, boolean enabled, String role, long checkedAtNanos) {
+    }
+}
@@ -15,9 +15,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
@@ -29,9 +30,14 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final PlatformTransactionManager transactionManager;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final TokenRevocationService tokenRevocationService;
     
-    @Transactional
+    /**
+     * Not transactional: the password is hashed before the insert so no connection is held while BCrypt runs.
+     */
     public UserDTO register(RegisterDTO registerDTO) {
         // Check if username or email already exists
         if (userRepository.existsByUsername(registerDTO.getUsername())) {
@@ -46,7 +52,7 @@ public class UserService {
         User user = new User();
         user.setUsername(registerDTO.getUsername());
         user.setEmail(registerDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(registerDTO.getPassword()));
+        user.setPassword(passwordHashingService.encode(registerDTO.getPassword()));
         user.setFullName(registerDTO.getFullName());
         user.setPhone(registerDTO.getPhone());
         user.setAddress(registerDTO.getAddress());
@@ -57,11 +63,12 @@ public class UserService {
         user.setEnabled(true);
         
         User savedUser = userRepository.save(user);
+        dashboardMetricsService.recordUserCreated(savedUser);
         return new UserDTO(savedUser);
     }
     
     public UserDTO findByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findBySimpleNaturalId(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
         return new UserDTO(user);
     }
@@ -78,18 +85,20 @@ public class UserService {
         return new UserDTO(user);
     }
     
-    public boolean validateUser(LoginDTO loginDTO) {
+    /**
+     * Checks the credentials and returns the user, looking it up only once. A hash made with an older
+     * BCrypt cost is replaced with one at the configured cost while the plain password is at hand.
+     */
+    public User authenticate(LoginDTO loginDTO) {
         String usernameOrEmail = normalizeUsernameOrEmail(loginDTO.getUsernameOrEmail());
         String password = normalizePassword(loginDTO.getPassword());
 
         log.debug("Attempting login for user identifier='{}'", usernameOrEmail);
 
-        User user = userRepository.findByUsernameOrEmail(
-                usernameOrEmail,
-                usernameOrEmail
-        ).orElseThrow(() -> new UnauthorizedException("Invalid username/email or password"));
+        User user = userRepository.findByUsernameOrEmail(usernameOrEmail)
+                .orElseThrow(() -> new UnauthorizedException("Invalid username/email or password"));
         
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
             throw new UnauthorizedException("Invalid username/email or password");
         }
         
@@ -97,12 +106,27 @@ public class UserService {
             throw new UnauthorizedException("User account is disabled");
         }
         
-        return true;
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            rehashPassword(user, password);
+        }
+        
+        return user;
+    }
+
+    private void rehashPassword(User user, String rawPassword) {
+        String previousHash = user.getPassword();
+        String newHash = passwordHashingService.encode(rawPassword);
+        Integer updated = new TransactionTemplate(transactionManager).execute(status ->
+                userRepository.updatePasswordIfUnchanged(user.getId(), previousHash, newHash));
+        if (updated != null && updated > 0) {
+            user.setPassword(newHash);
+            log.debug("Upgraded password hash for user {}", user.getId());
+        }
     }
     
     public User getUserEntityByUsernameOrEmail(String usernameOrEmail) {
         String normalized = normalizeUsernameOrEmail(usernameOrEmail);
-        return userRepository.findByUsernameOrEmail(normalized, normalized)
+        return userRepository.findByUsernameOrEmail(normalized)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username/email", usernameOrEmail));
     }
 
@@ -122,7 +146,7 @@ public class UserService {
     }
     
     public User getUserEntity(String username) {
-        return userRepository.findByUsername(username)
+        return userRepository.findBySimpleNaturalId(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
     
@@ -172,6 +196,20 @@ public class UserService {
         }
  
         userRepository.delete(user);
+        dashboardMetricsService.recordUserDeleted(user);
+        tokenRevocationService.blockUser(user.getId());
+    }
+
+    /**
+     * Invalidates every token issued to the user so far; tokens issued afterwards carry the new version.
+     */
+    @Transactional
+    public void revokeAllTokens(String username) {
+        User user = getUserEntity(username);
+        int nextVersion = (user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1;
+        user.setTokenVersion(nextVersion);
+        userRepository.save(user);
+        tokenRevocationService.recordTokenVersion(user.getId(), nextVersion);
     }
 }
 
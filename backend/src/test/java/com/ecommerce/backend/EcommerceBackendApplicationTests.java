@@ -1,10 +1,8 @@
 package com.ecommerce.backend;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class EcommerceBackendApplicationTests {
+class EcommerceBackendApplicationTests extends PostgresIntegrationTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,96 @@
+package com.ecommerce.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void callersBeyondTheLimitTimeOut() throws SQLException {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(target, 2, 50, true);
+
+        limiter.getConnection();
+        limiter.getConnection();
+
+        assertThatThrownBy(limiter::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("2 in use");
+    }
+
+    @Test
+    void closingAConnectionHandsItsPermitToAWaiter() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(target, 1, 5_000, true);
+        Connection held = limiter.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(waiter).isNotDone();
+
+        held.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(target, 1, 50, true);
+
+        Connection limited = limiter.getConnection();
+        limited.close();
+        limited.close();
+        limiter.getConnection();
+
+        assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void failedCheckoutReturnsThePermit() throws SQLException {
+        when(target.getConnection())
+                .thenThrow(new SQLException("pool exhausted"))
+                .thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(target, 1, 50, true);
+
+        assertThatThrownBy(limiter::getConnection).hasMessage("pool exhausted");
+
+        assertThat(limiter.getConnection()).isNotNull();
+    }
+
+    @Test
+    void callsOtherThanCloseReachTheTargetConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(target, 1, 50, true);
+
+        Connection limited = limiter.getConnection();
+
+        assertThat(limited.getAutoCommit()).isFalse();
+        assertThat(limited).isEqualTo(limited).isNotEqualTo(connection);
+    }
+}
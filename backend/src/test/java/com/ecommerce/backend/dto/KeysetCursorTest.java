@@ -0,0 +1,63 @@
+package com.ecommerce.backend.dto;
+
+import com.ecommerce.backend.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodeReturnsTheEncodedPosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripKeepsWholeSecondsAndMidnight() {
+        // LocalDateTime.toString() drops zero seconds and nanos; parse must accept the shorter forms it produces.
+        KeysetCursor midnight = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), UUID.randomUUID());
+        KeysetCursor wholeSecond = new KeysetCursor(LocalDateTime.of(2024, 12, 31, 23, 59, 59), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(midnight.encode())).isEqualTo(midnight);
+        assertThat(KeysetCursor.decode(wholeSecond.encode())).isEqualTo(wholeSecond);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 6, 30, 12, 0, 0, 1), UUID.randomUUID());
+
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decodeIgnoresSurroundingWhitespace() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 2, 28, 18, 30), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(" " + cursor.encode() + "\n")).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodeRejectsMalformedCursors() {
+        String notBase64 = "not a cursor!";
+        String missingSeparator = encodeRaw("2025-01-01T00:00");
+        String badTimestamp = encodeRaw("yesterday|" + UUID.randomUUID());
+        String badId = encodeRaw("2025-01-01T00:00|42");
+
+        for (String cursor : new String[]{notBase64, missingSeparator, badTimestamp, badId, ""}) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                    .isInstanceOf(InvalidRequestException.class);
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
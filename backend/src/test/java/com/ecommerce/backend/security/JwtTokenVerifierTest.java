@@ -0,0 +1,106 @@
+package com.ecommerce.backend.security;
+
+import com.ecommerce.backend.PostgresIntegrationTest;
+import com.ecommerce.backend.model.User;
+import com.ecommerce.backend.repository.UserRepository;
+import com.ecommerce.backend.service.JwtService;
+import com.ecommerce.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenVerifierTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tokenCarriesTheUserIdRoleAndVersion() {
+        User user = newUser();
+        String token = jwtService.generateToken(user);
+
+        JwtService.TokenClaims claims = jwtTokenVerifier.verify(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.username()).isEqualTo(user.getUsername());
+        assertThat(claims.userId()).isEqualTo(user.getId());
+        assertThat(claims.role()).isEqualTo("USER");
+        assertThat(claims.tokenVersion()).isZero();
+        assertThat(jwtTokenVerifier.verify(token)).isEqualTo(claims);
+    }
+
+    @Test
+    void logoutAllRevokesEarlierTokensOnly() {
+        User user = newUser();
+        String before = jwtService.generateToken(user);
+        assertThat(jwtTokenVerifier.verify(before)).isNotNull();
+
+        userService.revokeAllTokens(user.getUsername());
+        String after = jwtService.generateToken(userRepository.findById(user.getId()).orElseThrow());
+
+        assertThat(jwtTokenVerifier.verify(before)).isNull();
+        assertThat(jwtTokenVerifier.verify(after)).isNotNull();
+    }
+
+    @Test
+    void roleChangeBumpsTheTokenVersion() {
+        User user = newUser();
+        String token = jwtService.generateToken(user);
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setRole(User.UserRole.ADMIN));
+
+        User promoted = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(promoted.getTokenVersion()).isEqualTo(1);
+        assertThat(jwtTokenVerifier.verify(token)).isNull();
+        assertThat(jwtTokenVerifier.verify(jwtService.generateToken(promoted)).role()).isEqualTo("ADMIN");
+    }
+
+    @Test
+    void changesMadeOutsideThisInstanceAreReadFromTheDatabase() {
+        // Written with plain SQL, as another instance would: nothing in this one is told about it.
+        User demoted = newUser();
+        User disabled = newUser();
+        User deleted = newUser();
+        String demotedToken = jwtService.generateToken(demoted);
+        String disabledToken = jwtService.generateToken(disabled);
+        String deletedToken = jwtService.generateToken(deleted);
+
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE id = ?", demoted.getId());
+        jdbcTemplate.update("UPDATE users SET enabled = false WHERE id = ?", disabled.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", deleted.getId());
+
+        assertThat(jwtTokenVerifier.verify(demotedToken)).isNull();
+        assertThat(jwtTokenVerifier.verify(disabledToken)).isNull();
+        assertThat(jwtTokenVerifier.verify(deletedToken)).isNull();
+    }
+
+    private User newUser() {
+        String name = "jwt-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("{noop}secret");
+        return userRepository.saveAndFlush(user);
+    }
+}
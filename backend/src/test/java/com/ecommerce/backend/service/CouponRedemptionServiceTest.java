@@ -0,0 +1,157 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.PostgresIntegrationTest;
+import com.ecommerce.backend.exception.InvalidRequestException;
+import com.ecommerce.backend.model.Coupon;
+import com.ecommerce.backend.model.CouponUsageShard;
+import com.ecommerce.backend.repository.CouponRepository;
+import com.ecommerce.backend.repository.CouponUsageShardRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponRedemptionServiceTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final long CHECKOUT_TAIL_MS = 25;
+
+    @Autowired
+    private CouponRedemptionService couponRedemptionService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponUsageShardRepository shardRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentRedemptionsNeverExceedTheUsageLimit() throws Exception {
+        // Fewer uses than shards, so most shards hold a single use and fill up while other checkouts wait on them
+        Coupon coupon = saveCoupon(10, null);
+
+        Outcome outcome = redeemConcurrently(coupon, 60, index -> UUID.randomUUID());
+
+        assertThat(outcome.redeemed()).isEqualTo(10);
+        assertThat(outcome.failures()).hasSize(50)
+                .allSatisfy(ex -> assertThat(ex)
+                        .isInstanceOf(InvalidRequestException.class)
+                        .hasMessage("Mã giảm giá đã hết lượt sử dụng"));
+        assertThat(totalUsed(coupon)).isEqualTo(10);
+    }
+
+    @Test
+    void concurrentRedemptionsByOneUserRespectThePerUserLimit() throws Exception {
+        Coupon coupon = saveCoupon(100, 2);
+        UUID userId = UUID.randomUUID();
+
+        Outcome outcome = redeemConcurrently(coupon, 20, index -> userId);
+
+        assertThat(outcome.redeemed()).isEqualTo(2);
+        assertThat(outcome.failures()).hasSize(18)
+                .allSatisfy(ex -> assertThat(ex).hasMessage("Bạn đã sử dụng hết số lượt cho mã giảm giá này"));
+        assertThat(totalUsed(coupon)).isEqualTo(2);
+    }
+
+    @Test
+    void refundedUsesCanBeRedeemedAgain() throws Exception {
+        Coupon coupon = saveCoupon(5, null);
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UUID orderId = UUID.randomUUID();
+            couponRedemptionService.redeem(quote(coupon), UUID.randomUUID(), orderId);
+            orderIds.add(orderId);
+        }
+
+        assertThat(couponRedemptionService.refund(orderIds.subList(0, 3))).isEqualTo(3);
+        // A second refund of the same orders gives nothing back
+        assertThat(couponRedemptionService.refund(orderIds.subList(0, 3))).isZero();
+        assertThat(totalUsed(coupon)).isEqualTo(2);
+
+        Outcome outcome = redeemConcurrently(coupon, 10, index -> UUID.randomUUID());
+
+        assertThat(outcome.redeemed()).isEqualTo(3);
+        assertThat(totalUsed(coupon)).isEqualTo(5);
+    }
+
+    private Outcome redeemConcurrently(Coupon coupon, int attempts, IntFunction<UUID> users) throws InterruptedException {
+        CouponRedemptionService.CouponQuote quote = quote(coupon);
+        AtomicInteger redeemed = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < attempts; i++) {
+                UUID userId = users.apply(i);
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        // Keep the shard locked for a while, as the rest of a checkout transaction would
+                        transactionTemplate.executeWithoutResult(status -> {
+                            couponRedemptionService.redeem(quote, userId, UUID.randomUUID());
+                            sleep(CHECKOUT_TAIL_MS);
+                        });
+                        redeemed.incrementAndGet();
+                    } catch (Throwable ex) {
+                        failures.add(ex);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        return new Outcome(redeemed.get(), List.copyOf(failures));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Coupon saveCoupon(Integer usageLimit, Integer perUserLimit) {
+        Coupon coupon = new Coupon();
+        coupon.setCode("TEST-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        coupon.setName("Test coupon");
+        coupon.setDiscountType(Coupon.DiscountType.FIXED_AMOUNT);
+        coupon.setDiscountValue(BigDecimal.TEN);
+        coupon.setUsageLimit(usageLimit);
+        coupon.setPerUserLimit(perUserLimit);
+        return couponRepository.save(coupon);
+    }
+
+    private CouponRedemptionService.CouponQuote quote(Coupon coupon) {
+        return new CouponRedemptionService.CouponQuote(coupon, coupon.getCode(), false, BigDecimal.TEN);
+    }
+
+    private int totalUsed(Coupon coupon) {
+        return shardRepository.findAll().stream()
+                .filter(shard -> shard.getCouponId().equals(coupon.getId()))
+                .mapToInt(CouponUsageShard::getUsed)
+                .sum();
+    }
+
+    private record Outcome(int redeemed, List<Throwable> failures) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.PostgresIntegrationTest;
+import com.ecommerce.backend.model.Coupon;
+import com.ecommerce.backend.model.CustomerStats;
+import com.ecommerce.backend.model.Order;
+import com.ecommerce.backend.model.User;
+import com.ecommerce.backend.repository.CustomerStatsRepository;
+import com.ecommerce.backend.repository.OrderRepository;
+import com.ecommerce.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerStatsServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CustomerStatsService customerStatsService;
+
+    @Autowired
+    private CustomerStatsRepository customerStatsRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cancellationForACustomerWithoutStatsDoesNotGoNegative() {
+        User customer = newCustomer();
+        Order order = newOrder(customer, Order.PaymentStatus.PENDING);
+
+        customerStatsService.recordOrderStatusesChanged(
+                Map.of(order.getId(), Order.OrderStatus.PENDING), Order.OrderStatus.CANCELLED);
+
+        CustomerStats stats = customerStatsRepository.findById(customer.getId()).orElseThrow();
+        assertThat(stats.getOrderCount()).isZero();
+        assertThat(stats.getFirstOrderAt()).isNull();
+        assertThat(stats.getLastOrderAt()).isNull();
+        assertThat(stats.getSegment()).isEqualTo(Coupon.CustomerSegment.NEW_CUSTOMER);
+    }
+
+    @Test
+    void refundForACustomerWithoutStatsDoesNotGoNegative() {
+        User customer = newCustomer();
+        Order order = newOrder(customer, Order.PaymentStatus.REFUNDED);
+
+        customerStatsService.recordOrderUpdated(order, Order.OrderStatus.PENDING, Order.PaymentStatus.PAID);
+
+        CustomerStats stats = customerStatsRepository.findById(customer.getId()).orElseThrow();
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void removalsStillApplyToExistingStats() {
+        User customer = newCustomer();
+        Order order = newOrder(customer, Order.PaymentStatus.REFUNDED);
+        jdbcTemplate.update("INSERT INTO customer_stats (user_id, order_count, lifetime_spend, segment, updated_at) " +
+                "VALUES (?, 5, 250000, 'RETURNING_CUSTOMER', CURRENT_TIMESTAMP)", customer.getId());
+
+        customerStatsService.recordOrderUpdated(order, Order.OrderStatus.PENDING, Order.PaymentStatus.PAID);
+        customerStatsService.recordOrderStatusesChanged(
+                Map.of(order.getId(), Order.OrderStatus.PENDING), Order.OrderStatus.CANCELLED);
+
+        CustomerStats stats = customerStatsRepository.findById(customer.getId()).orElseThrow();
+        assertThat(stats.getOrderCount()).isEqualTo(4);
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("150000");
+    }
+
+    private User newCustomer() {
+        String name = "stats-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("{noop}secret");
+        return userRepository.saveAndFlush(user);
+    }
+
+    private Order newOrder(User customer, Order.PaymentStatus paymentStatus) {
+        Order order = new Order();
+        order.setUser(customer);
+        order.setOrderNumber("STATS-" + UUID.randomUUID());
+        order.setTotalAmount(new BigDecimal("100000"));
+        order.setShippingAddress("1 Test Street");
+        order.setPaymentStatus(paymentStatus);
+        return orderRepository.saveAndFlush(order);
+    }
+}
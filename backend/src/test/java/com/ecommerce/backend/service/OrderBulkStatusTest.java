@@ -0,0 +1,133 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.PostgresIntegrationTest;
+import com.ecommerce.backend.dto.OrderBulkStatusRequestDTO;
+import com.ecommerce.backend.dto.OrderBulkStatusResponseDTO;
+import com.ecommerce.backend.dto.OrderBulkStatusResultDTO;
+import com.ecommerce.backend.model.Order;
+import com.ecommerce.backend.model.User;
+import com.ecommerce.backend.repository.OrderRepository;
+import com.ecommerce.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBulkStatusTest extends PostgresIntegrationTest {
+
+    // How long the competing transaction stays open after its update, so the bulk update queues behind it
+    private static final long COMPETING_HOLD_MS = 300;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void changeCommittedFirstByAnotherTransactionIsNotAccountedTwice() throws Exception {
+        User customer = newCustomer();
+        Order order = newOrder(customer);
+        setOrderCount(customer, 5);
+
+        CompletableFuture<Void> competing = updateConcurrently(order.getId(), Order.OrderStatus.CANCELLED);
+        OrderBulkStatusResponseDTO response = bulkUpdate(List.of(order.getId()), Order.OrderStatus.CANCELLED);
+        competing.get(10, TimeUnit.SECONDS);
+
+        OrderBulkStatusResultDTO result = response.getResults().get(0);
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getPreviousStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(orderCount(customer)).isEqualTo(4);
+    }
+
+    @Test
+    void changedOrdersReportTheStatusTheyHadWhenLocked() throws Exception {
+        User customer = newCustomer();
+        Order raced = newOrder(customer);
+        Order untouched = newOrder(customer);
+        setOrderCount(customer, 5);
+
+        CompletableFuture<Void> competing = updateConcurrently(raced.getId(), Order.OrderStatus.CONFIRMED);
+        OrderBulkStatusResponseDTO response =
+                bulkUpdate(List.of(raced.getId(), untouched.getId()), Order.OrderStatus.CANCELLED);
+        competing.get(10, TimeUnit.SECONDS);
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getResults())
+                .extracting(OrderBulkStatusResultDTO::getPreviousStatus)
+                .containsExactly(Order.OrderStatus.CONFIRMED, Order.OrderStatus.PENDING);
+        assertThat(orderCount(customer)).isEqualTo(3);
+    }
+
+    /**
+     * Changes the order's status in a transaction that stays open until the bulk update is waiting on its row lock.
+     */
+    private CompletableFuture<Void> updateConcurrently(UUID orderId, Order.OrderStatus status)
+            throws InterruptedException {
+        CountDownLatch updated = new CountDownLatch(1);
+        CompletableFuture<Void> competing = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(tx -> {
+                    orderService.updateOrderStatus(orderId, status);
+                    orderRepository.flush();
+                    updated.countDown();
+                    try {
+                        Thread.sleep(COMPETING_HOLD_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(updated.await(10, TimeUnit.SECONDS)).isTrue();
+        return competing;
+    }
+
+    private OrderBulkStatusResponseDTO bulkUpdate(List<UUID> orderIds, Order.OrderStatus status) {
+        return orderService.bulkUpdateOrderStatus(new OrderBulkStatusRequestDTO(orderIds, status));
+    }
+
+    private User newCustomer() {
+        String name = "bulk-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("{noop}secret");
+        return userRepository.saveAndFlush(user);
+    }
+
+    private Order newOrder(User customer) {
+        Order order = new Order();
+        order.setUser(customer);
+        order.setOrderNumber("BULK-" + UUID.randomUUID());
+        order.setTotalAmount(new BigDecimal("100000"));
+        order.setShippingAddress("1 Test Street");
+        return orderRepository.saveAndFlush(order);
+    }
+
+    private void setOrderCount(User customer, long orderCount) {
+        jdbcTemplate.update("INSERT INTO customer_stats (user_id, order_count, lifetime_spend, segment, updated_at) " +
+                "VALUES (?, ?, 0, 'RETURNING_CUSTOMER', CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (user_id) DO UPDATE SET order_count = EXCLUDED.order_count", customer.getId(), orderCount);
+    }
+
+    private long orderCount(User customer) {
+        return jdbcTemplate.queryForObject(
+                "SELECT order_count FROM customer_stats WHERE user_id = ?", Long.class, customer.getId());
+    }
+}
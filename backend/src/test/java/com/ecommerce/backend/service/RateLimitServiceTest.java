@@ -0,0 +1,104 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.RateLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitServiceTest {
+
+    private static final int CAPACITY = 3;
+    // One token every 500ms: slow enough that draining the bucket never races the refill
+    private static final double REFILL_PER_SECOND = 2;
+
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig.Group group = new RateLimitConfig.Group();
+        group.setPaths(List.of("/api/products/**"));
+        group.setCapacity(CAPACITY);
+        group.setRefillPerSecond(REFILL_PER_SECOND);
+        group.setCosts(List.of(new RateLimitConfig.Cost("/api/products/search", 2)));
+
+        RateLimitConfig config = new RateLimitConfig();
+        config.getGroups().put("catalog", group);
+        rateLimitService = new RateLimitService(config);
+        rateLimitService.compileGroups();
+    }
+
+    @Test
+    void newBucketAllowsABurstUpToCapacity() {
+        RateLimitService.Route route = rateLimitService.resolve("/api/products/1");
+
+        for (int i = CAPACITY - 1; i >= 0; i--) {
+            RateLimitService.Decision decision = rateLimitService.tryAcquire(route, "client");
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(i);
+        }
+
+        RateLimitService.Decision denied = rateLimitService.tryAcquire(route, "client");
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.limit()).isEqualTo(CAPACITY);
+        assertThat(denied.remaining()).isZero();
+        assertThat(denied.retryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void drainedBucketRefillsOverTime() throws InterruptedException {
+        RateLimitService.Route route = rateLimitService.resolve("/api/products/1");
+        for (int i = 0; i < CAPACITY; i++) {
+            rateLimitService.tryAcquire(route, "client");
+        }
+        assertThat(rateLimitService.tryAcquire(route, "client").allowed()).isFalse();
+
+        Thread.sleep(600);
+
+        assertThat(rateLimitService.tryAcquire(route, "client").allowed()).isTrue();
+    }
+
+    @Test
+    void costlyRoutesTakeSeveralTokens() {
+        RateLimitService.Route search = rateLimitService.resolve("/api/products/search");
+        RateLimitService.Route detail = rateLimitService.resolve("/api/products/1");
+        assertThat(search.cost()).isEqualTo(2);
+
+        RateLimitService.Decision first = rateLimitService.tryAcquire(search, "client");
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isEqualTo(CAPACITY - 2);
+
+        assertThat(rateLimitService.tryAcquire(search, "client").allowed()).isFalse();
+        assertThat(rateLimitService.tryAcquire(detail, "client").allowed()).isTrue();
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        RateLimitService.Route route = rateLimitService.resolve("/api/products/1");
+        for (int i = 0; i < CAPACITY; i++) {
+            rateLimitService.tryAcquire(route, "a");
+        }
+
+        assertThat(rateLimitService.tryAcquire(route, "a").allowed()).isFalse();
+        assertThat(rateLimitService.tryAcquire(route, "b").allowed()).isTrue();
+    }
+
+    @Test
+    void unmatchedPathsAreNotLimited() {
+        assertThat(rateLimitService.resolve("/api/orders/1")).isNull();
+    }
+
+    @Test
+    void evictionKeepsBucketsThatAreStillRefilling() {
+        RateLimitService.Route route = rateLimitService.resolve("/api/products/1");
+        for (int i = 0; i < CAPACITY; i++) {
+            rateLimitService.tryAcquire(route, "client");
+        }
+
+        rateLimitService.evictFullBuckets();
+
+        assertThat(rateLimitService.tryAcquire(route, "client").allowed()).isFalse();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.backend.service;
+
+import com.ecommerce.backend.config.JwtConfig;
+import com.ecommerce.backend.model.User;
+import com.ecommerce.backend.repository.UserRepository;
+import com.ecommerce.backend.repository.projection.UserTokenStateProjection;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private static final int CACHE_SIZE = 8;
+
+    @Test
+    void checkedStatesStayWithinTheCacheSizeWhenNoneAreStale() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setVerifiedCacheSize(CACHE_SIZE);
+        jwtConfig.setRevocationRecheckMs(60_000);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenStateById(any())).thenAnswer(invocation -> Optional.of(activeUser()));
+        TokenRevocationService service = new TokenRevocationService(userRepository, jwtConfig);
+
+        for (int i = 0; i < CACHE_SIZE * 10; i++) {
+            UUID userId = UUID.randomUUID();
+            JwtService.TokenClaims claims = new JwtService.TokenClaims("user" + i, userId, "USER", 0, Long.MAX_VALUE);
+            assertThat(service.isRevoked(claims)).isFalse();
+            assertThat(checkedStates(service)).hasSizeLessThanOrEqualTo(CACHE_SIZE);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<UUID, ?> checkedStates(TokenRevocationService service) {
+        return (Map<UUID, ?>) ReflectionTestUtils.getField(service, "checkedStates");
+    }
+
+    private static UserTokenStateProjection activeUser() {
+        UserTokenStateProjection state = mock(UserTokenStateProjection.class);
+        when(state.getTokenVersion()).thenReturn(0);
+        when(state.getEnabled()).thenReturn(true);
+        when(state.getRole()).thenReturn(User.UserRole.USER);
+        return state;
+    }
+}
@@ -24,6 +24,7 @@ CREATE TABLE IF NOT EXISTS users (
     address TEXT,
     role VARCHAR(20) DEFAULT 'USER' CHECK (role IN ('USER', 'ADMIN')),
     enabled BOOLEAN DEFAULT TRUE,
+    token_version INT DEFAULT 0 NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -72,6 +73,7 @@ CREATE TABLE IF NOT EXISTS coupons (
     usage_count INT DEFAULT 0 NOT NULL,
     is_active BOOLEAN DEFAULT TRUE NOT NULL,
     segment VARCHAR(50) DEFAULT 'ALL' NOT NULL CHECK (segment IN ('ALL', 'NEW_CUSTOMER', 'RETURNING_CUSTOMER', 'VIP_CUSTOMER')),
+    code_required BOOLEAN DEFAULT FALSE NOT NULL,
     start_at TIMESTAMP,
     end_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -123,6 +125,8 @@ CREATE TABLE IF NOT EXISTS orders (
     user_id UUID REFERENCES users(id) ON DELETE SET NULL,
     order_number VARCHAR(50) UNIQUE NOT NULL,
     total_amount DECIMAL(10, 2) NOT NULL CHECK (total_amount >= 0),
+    coupon_code VARCHAR(50),
+    discount_amount DECIMAL(10, 2) DEFAULT 0 NOT NULL CHECK (discount_amount >= 0),
     shipping_address TEXT NOT NULL,
     shipping_phone VARCHAR(20),
     shipping_name VARCHAR(100),
@@ -144,6 +148,7 @@ CREATE TABLE IF NOT EXISTS order_items (
     product_price DECIMAL(10, 2) NOT NULL,
     quantity INT NOT NULL CHECK (quantity > 0),
     subtotal DECIMAL(10, 2) NOT NULL,
+    order_created_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -174,6 +179,82 @@ CREATE TABLE IF NOT EXISTS payments (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Product rating aggregates (approved reviews only)
+CREATE TABLE IF NOT EXISTS product_rating_stats (
+    product_id UUID PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    star_1_count BIGINT NOT NULL DEFAULT 0,
+    star_2_count BIGINT NOT NULL DEFAULT 0,
+    star_3_count BIGINT NOT NULL DEFAULT 0,
+    star_4_count BIGINT NOT NULL DEFAULT 0,
+    star_5_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Daily sales rollup (paid orders per day; category_id 00000000-0000-0000-0000-000000000000 = whole shop)
+CREATE TABLE IF NOT EXISTS daily_sales_rollup (
+    sales_date DATE NOT NULL,
+    category_id UUID NOT NULL,
+    revenue DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    item_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sales_date, category_id)
+);
+
+-- Lifetime stats and derived coupon segment per customer (order_count excludes cancelled orders)
+CREATE TABLE IF NOT EXISTS customer_stats (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    lifetime_spend DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    first_order_at TIMESTAMP,
+    last_order_at TIMESTAMP,
+    segment VARCHAR(20) NOT NULL DEFAULT 'NEW_CUSTOMER' CHECK (segment IN ('NEW_CUSTOMER', 'RETURNING_CUSTOMER', 'VIP_CUSTOMER')),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Coupon usage split over shard rows (capacity NULL = no global limit)
+CREATE TABLE IF NOT EXISTS coupon_usage_shards (
+    coupon_id UUID NOT NULL REFERENCES coupons(id) ON DELETE CASCADE,
+    shard_no INT NOT NULL,
+    capacity INT CHECK (capacity >= 0),
+    used INT NOT NULL DEFAULT 0 CHECK (used >= 0),
+    PRIMARY KEY (coupon_id, shard_no),
+    CHECK (capacity IS NULL OR used <= capacity)
+);
+
+-- Coupon usage per customer (enforces per_user_limit)
+CREATE TABLE IF NOT EXISTS coupon_user_usage (
+    coupon_id UUID NOT NULL REFERENCES coupons(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    used INT NOT NULL DEFAULT 0 CHECK (used >= 0),
+    PRIMARY KEY (coupon_id, user_id)
+);
+
+-- Generated single-use coupon codes
+CREATE TABLE IF NOT EXISTS coupon_codes (
+    code VARCHAR(50) PRIMARY KEY,
+    coupon_id UUID NOT NULL REFERENCES coupons(id) ON DELETE CASCADE,
+    redeemed_by UUID,
+    order_id UUID,
+    redeemed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Coupon redemption ledger, one row per order
+CREATE TABLE IF NOT EXISTS coupon_redemptions (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    coupon_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    order_id UUID UNIQUE NOT NULL,
+    coupon_code VARCHAR(50),
+    discount_amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) DEFAULT 'REDEEMED' NOT NULL CHECK (status IN ('REDEEMED', 'REFUNDED')),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    refunded_at TIMESTAMP
+);
+
 -- ============================================
 -- INDEXES
 -- ============================================
@@ -185,12 +266,18 @@ CREATE INDEX IF NOT EXISTS idx_products_status ON products(status);
 CREATE INDEX IF NOT EXISTS idx_cart_items_user ON cart_items(user_id);
 CREATE INDEX IF NOT EXISTS idx_orders_user ON orders(user_id);
 CREATE INDEX IF NOT EXISTS idx_orders_status ON orders(status);
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders(created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_user_created_at ON orders(user_id, created_at);
 CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items(order_id);
 CREATE INDEX IF NOT EXISTS idx_reviews_product ON reviews(product_id);
+CREATE INDEX IF NOT EXISTS idx_reviews_product_status_created ON reviews(product_id, status, created_at, id);
 CREATE INDEX IF NOT EXISTS idx_reviews_user ON reviews(user_id);
 CREATE INDEX IF NOT EXISTS idx_banners_active_order ON banners(is_active, display_order);
 CREATE INDEX IF NOT EXISTS idx_coupons_code ON coupons(code);
 CREATE INDEX IF NOT EXISTS idx_coupons_segment ON coupons(segment);
+CREATE INDEX IF NOT EXISTS idx_coupon_redemptions_coupon ON coupon_redemptions(coupon_id);
+CREATE INDEX IF NOT EXISTS idx_coupon_codes_coupon ON coupon_codes(coupon_id);
+CREATE INDEX IF NOT EXISTS idx_customer_stats_segment ON customer_stats(segment);
 
 -- ============================================
 -- TRIGGERS FOR UPDATED_AT
@@ -0,0 +1,127 @@
+-- ShopVerse: monthly range partitioning for orders / order_items
+-- Converts the plain orders and order_items tables into tables partitioned by month
+-- (orders.created_at / order_items.order_created_at). Run once, during a maintenance window.
+--
+-- After running:
+--   * set orders.partitioning.enabled=true so the backend keeps future partitions created
+--     and detaches/archives months older than orders.partitioning.hot-months
+--   * set spring.jpa.hibernate.ddl-auto to validate or none (Hibernate cannot manage
+--     constraints on partitioned tables)
+--
+-- NOTE: PostgreSQL requires the partition key in every primary key / unique constraint, so
+-- orders becomes PRIMARY KEY (id, created_at) and order_number is unique per month. Foreign
+-- keys from reviews.order_id and payments.order_id to orders(id) are dropped for the same reason
+-- (whatever their name: the legacy table is dropped with CASCADE at the end).
+
+BEGIN;
+
+ALTER TABLE reviews DROP CONSTRAINT IF EXISTS reviews_order_id_fkey;
+ALTER TABLE payments DROP CONSTRAINT IF EXISTS payments_order_id_fkey;
+
+ALTER TABLE order_items RENAME TO order_items_legacy;
+ALTER TABLE orders RENAME TO orders_legacy;
+
+-- ============================================
+-- PARTITIONED TABLES
+-- ============================================
+
+CREATE TABLE orders (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    user_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    order_number VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL CHECK (total_amount >= 0),
+    coupon_code VARCHAR(50),
+    discount_amount DECIMAL(10, 2) DEFAULT 0 NOT NULL CHECK (discount_amount >= 0),
+    shipping_address TEXT NOT NULL,
+    shipping_phone VARCHAR(20),
+    shipping_name VARCHAR(100),
+    status VARCHAR(20) DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED', 'REFUNDED')),
+    payment_method VARCHAR(50),
+    payment_status VARCHAR(20) DEFAULT 'PENDING' CHECK (payment_status IN ('PENDING', 'PAID', 'FAILED', 'REFUNDED')),
+    notes TEXT,
+    admin_notes TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    UNIQUE (order_number, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_items (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    order_id UUID NOT NULL,
+    order_created_at TIMESTAMP NOT NULL,
+    product_id UUID REFERENCES products(id) ON DELETE SET NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_price DECIMAL(10, 2) NOT NULL,
+    quantity INT NOT NULL CHECK (quantity > 0),
+    subtotal DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, order_created_at),
+    FOREIGN KEY (order_id, order_created_at) REFERENCES orders(id, created_at) ON DELETE CASCADE
+) PARTITION BY RANGE (order_created_at);
+
+-- Catch-all partitions; the backend creates monthly partitions ahead of time so these stay empty.
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+
+-- Monthly partitions covering the existing history plus the next three months
+DO $$
+DECLARE
+    month_start DATE;
+    suffix TEXT;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(
+                   date_trunc('month', COALESCE(MIN(created_at), CURRENT_TIMESTAMP)),
+                   date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 MONTH',
+                   INTERVAL '1 MONTH')::DATE
+        FROM orders_legacy
+    LOOP
+        suffix := to_char(month_start, 'YYYY_MM');
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || suffix, month_start, (month_start + INTERVAL '1 MONTH')::DATE);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF order_items FOR VALUES FROM (%L) TO (%L)',
+                       'order_items_p' || suffix, month_start, (month_start + INTERVAL '1 MONTH')::DATE);
+    END LOOP;
+END $$;
+
+-- ============================================
+-- DATA COPY
+-- ============================================
+
+INSERT INTO orders (id, user_id, order_number, total_amount, coupon_code, discount_amount,
+                    shipping_address, shipping_phone, shipping_name,
+                    status, payment_method, payment_status, notes, admin_notes, created_at, updated_at)
+SELECT id, user_id, order_number, total_amount, coupon_code, COALESCE(discount_amount, 0),
+       shipping_address, shipping_phone, shipping_name,
+       status, payment_method, payment_status, notes, admin_notes,
+       COALESCE(created_at, CURRENT_TIMESTAMP), updated_at
+FROM orders_legacy;
+
+INSERT INTO order_items (id, order_id, order_created_at, product_id, product_name, product_price, quantity, subtotal, created_at)
+SELECT oi.id, oi.order_id, COALESCE(o.created_at, CURRENT_TIMESTAMP), oi.product_id, oi.product_name,
+       oi.product_price, oi.quantity, oi.subtotal, oi.created_at
+FROM order_items_legacy oi
+JOIN orders_legacy o ON o.id = oi.order_id;
+
+-- ============================================
+-- INDEXES & TRIGGERS
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_orders_user ON orders(user_id);
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders(status);
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders(created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_user_created_at ON orders(user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_order_number ON orders(order_number);
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items(order_id);
+
+CREATE TRIGGER update_orders_updated_at BEFORE UPDATE ON orders
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+DROP TABLE order_items_legacy;
+DROP TABLE orders_legacy CASCADE;
+
+COMMENT ON TABLE orders IS 'Customer orders (partitioned by month of created_at)';
+COMMENT ON TABLE order_items IS 'Order line items (partitioned by month of order_created_at)';
+
+COMMIT;